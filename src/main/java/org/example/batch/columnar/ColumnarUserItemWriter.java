@@ -0,0 +1,177 @@
+package org.example.batch.columnar;
+
+import org.example.model.User;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes User objects to a file in the columnar format read by {@link ColumnarUserReader}.
+ *
+ * <pre>
+ * int     magic "UCOL", byte version
+ * ...     row groups, see {@link RowGroupCodec}
+ * int     row group count, then per row group:
+ *         long offset, int length, int rowCount, long minId, long maxId
+ * long    footer offset, int magic "UCOL"
+ * </pre>
+ *
+ * Rows are buffered until a row group is full, so the file can only be completed once all
+ * rows are written and a failed step cannot be resumed: the writer refuses to open
+ * from an execution context it has already written to.
+ * The last row group, footer and trailer are written in {@link #afterStep(StepExecution)},
+ * before the step status is saved, and only when the step completed; if that fails the step
+ * is marked FAILED. Otherwise the file is left without its trailer so {@link ColumnarUserReader}
+ * rejects it as incomplete. The writer must be registered as a step listener for this, which
+ * the step builders do automatically for writers passed to {@code writer(...)}.
+ */
+public class ColumnarUserItemWriter implements ItemStreamWriter<User>, StepExecutionListener {
+
+    private static final String STARTED_KEY = "started";
+
+    private final String name;
+    private final File file;
+    private final int rowGroupSize;
+
+    private final List<User> pending = new ArrayList<>();
+    private final List<RowGroupInfo> rowGroups = new ArrayList<>();
+
+    private DataOutputStream out;
+    private long position;
+
+    /**
+     * Creates a new writer for the given file.
+     *
+     * @param name Name used to prefix the keys saved in the execution context
+     * @param file The file to write to
+     * @param rowGroupSize Number of rows per row group
+     */
+    public ColumnarUserItemWriter(String name, File file, int rowGroupSize) {
+        if (rowGroupSize <= 0) {
+            throw new IllegalArgumentException("Row group size must be positive: " + rowGroupSize);
+        }
+        this.name = name;
+        this.file = file;
+        this.rowGroupSize = rowGroupSize;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        if (executionContext.containsKey(executionContextKey(STARTED_KEY))) {
+            throw new ItemStreamException("Columnar output cannot be resumed, restart the export from scratch: " + file);
+        }
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+            out.writeInt(RowGroupCodec.MAGIC);
+            out.writeByte(RowGroupCodec.VERSION);
+            position = out.size();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open columnar output file: " + file, e);
+        }
+        pending.clear();
+        rowGroups.clear();
+    }
+
+    @Override
+    public void write(Chunk<? extends User> chunk) throws Exception {
+        for (User user : chunk) {
+            pending.add(user);
+            if (pending.size() == rowGroupSize) {
+                flushRowGroup();
+            }
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        executionContext.putString(executionContextKey(STARTED_KEY), "true");
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (out == null || stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            // Leave the file without a trailer so readers reject the partial export
+            return null;
+        }
+        try {
+            finish();
+            return null;
+        } catch (IOException e) {
+            stepExecution.setStatus(BatchStatus.FAILED);
+            stepExecution.addFailureException(e);
+            return ExitStatus.FAILED.addExitDescription(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to close columnar output file: " + file, e);
+        } finally {
+            out = null;
+        }
+    }
+
+    /**
+     * Writes the last row group, the footer and the trailer, and closes the file.
+     */
+    private void finish() throws IOException {
+        flushRowGroup();
+
+        long footerOffset = position;
+        out.writeInt(rowGroups.size());
+        for (RowGroupInfo rowGroup : rowGroups) {
+            out.writeLong(rowGroup.offset());
+            out.writeInt(rowGroup.length());
+            out.writeInt(rowGroup.rowCount());
+            out.writeLong(rowGroup.minId());
+            out.writeLong(rowGroup.maxId());
+        }
+        out.writeLong(footerOffset);
+        out.writeInt(RowGroupCodec.MAGIC);
+        out.close();
+        out = null;
+    }
+
+    private void flushRowGroup() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        for (User user : pending) {
+            if (user.getId() != null) {
+                minId = Math.min(minId, user.getId());
+                maxId = Math.max(maxId, user.getId());
+            }
+        }
+
+        byte[] encoded = RowGroupCodec.encode(pending);
+        out.write(encoded);
+        rowGroups.add(new RowGroupInfo(position, encoded.length, pending.size(), minId, maxId));
+        position += encoded.length;
+        pending.clear();
+    }
+
+    private String executionContextKey(String key) {
+        return name + "." + key;
+    }
+}
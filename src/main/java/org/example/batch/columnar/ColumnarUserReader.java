@@ -0,0 +1,158 @@
+package org.example.batch.columnar;
+
+import org.example.model.User;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads files written by {@link ColumnarUserItemWriter}.
+ * The footer index is loaded on open, so range reads decode only the row groups
+ * whose id range overlaps the requested one.
+ *
+ * <pre>
+ * try (ColumnarUserReader reader = new ColumnarUserReader(file)) {
+ *     List&lt;User&gt; users = reader.readRange(1000, 1999);
+ * }
+ * </pre>
+ */
+public class ColumnarUserReader implements Closeable {
+
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int INDEX_ENTRY_SIZE = Long.BYTES + 2 * Integer.BYTES + 2 * Long.BYTES;
+
+    private final FileChannel channel;
+    private final List<RowGroupInfo> rowGroups;
+
+    /**
+     * Opens a columnar file and loads its footer index.
+     *
+     * @param file The file to read
+     * @throws IOException If the file cannot be read or is not a columnar export file
+     */
+    public ColumnarUserReader(File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            this.rowGroups = readFooter(file);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the footer index of the file.
+     *
+     * @return One entry per row group, in file order
+     */
+    public List<RowGroupInfo> getRowGroups() {
+        return rowGroups;
+    }
+
+    /**
+     * Returns the total number of rows in the file.
+     *
+     * @return The row count taken from the footer index
+     */
+    public long getRowCount() {
+        return rowGroups.stream().mapToLong(RowGroupInfo::rowCount).sum();
+    }
+
+    /**
+     * Decodes a single row group.
+     *
+     * @param index Position of the row group in {@link #getRowGroups()}
+     * @return The rows of the row group
+     * @throws IOException If the row group cannot be read
+     */
+    public List<User> readRowGroup(int index) throws IOException {
+        RowGroupInfo rowGroup = rowGroups.get(index);
+        return RowGroupCodec.decode(read(rowGroup.offset(), rowGroup.length()));
+    }
+
+    /**
+     * Reads all rows with an id in the given inclusive range, skipping row groups
+     * whose footer entry shows they cannot contain any.
+     *
+     * @param fromId Lower bound of the range
+     * @param toId Upper bound of the range
+     * @return The matching rows, in file order
+     * @throws IOException If a row group cannot be read
+     */
+    public List<User> readRange(long fromId, long toId) throws IOException {
+        List<User> result = new ArrayList<>();
+        for (int i = 0; i < rowGroups.size(); i++) {
+            if (!rowGroups.get(i).overlaps(fromId, toId)) {
+                continue;
+            }
+            for (User user : readRowGroup(i)) {
+                if (user.getId() != null && user.getId() >= fromId && user.getId() <= toId) {
+                    result.add(user);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads every row in the file.
+     *
+     * @return All rows, in file order
+     * @throws IOException If a row group cannot be read
+     */
+    public List<User> readAll() throws IOException {
+        List<User> result = new ArrayList<>();
+        for (int i = 0; i < rowGroups.size(); i++) {
+            result.addAll(readRowGroup(i));
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private List<RowGroupInfo> readFooter(File file) throws IOException {
+        long size = channel.size();
+        if (size < Integer.BYTES + 1 + Integer.BYTES + TRAILER_SIZE
+                || read(0, Integer.BYTES).getInt() != RowGroupCodec.MAGIC) {
+            throw new IOException("Not a columnar export file: " + file);
+        }
+
+        ByteBuffer trailer = read(size - TRAILER_SIZE, TRAILER_SIZE);
+        long footerOffset = trailer.getLong();
+        if (trailer.getInt() != RowGroupCodec.MAGIC || footerOffset < 0 || footerOffset > size - TRAILER_SIZE) {
+            throw new IOException("Columnar export file is incomplete or corrupt: " + file);
+        }
+
+        ByteBuffer footer = read(footerOffset, (int) (size - TRAILER_SIZE - footerOffset));
+        int count = footer.getInt();
+        if (footer.remaining() != (long) count * INDEX_ENTRY_SIZE) {
+            throw new IOException("Columnar export file has a corrupt footer: " + file);
+        }
+        List<RowGroupInfo> index = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            index.add(new RowGroupInfo(footer.getLong(), footer.getInt(), footer.getInt(),
+                    footer.getLong(), footer.getLong()));
+        }
+        return Collections.unmodifiableList(index);
+    }
+
+    private ByteBuffer read(long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of columnar export file");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,240 @@
+package org.example.batch.columnar;
+
+import org.example.model.User;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes and decodes a single row group of the columnar format.
+ *
+ * <pre>
+ * varint  rowCount
+ * id      byte presence (0 = all ids present, 1 = presence bitmap follows),
+ *         optional bitmap, then zigzag varint deltas between consecutive non-null ids
+ * name    string column, see below
+ * email   domain dictionary, then per row a varint code
+ *         (0 = null, 1 = no domain, n + 2 = dictionary entry n) and the local part as a string
+ * </pre>
+ *
+ * A string column starts with an encoding byte. Dictionary columns write the distinct values
+ * once and then one varint per row (0 = null, n + 1 = dictionary entry n). Plain columns
+ * write every value as a varint length plus one (0 = null) followed by its UTF-8 bytes.
+ */
+final class RowGroupCodec {
+
+    /** File header and trailer marker, "UCOL" */
+    static final int MAGIC = 0x55434F4C;
+
+    /** Format version written after the header magic */
+    static final byte VERSION = 1;
+
+    private static final byte PLAIN = 0;
+    private static final byte DICTIONARY = 1;
+
+    private RowGroupCodec() {
+    }
+
+    /**
+     * Encodes a row group.
+     *
+     * @param rows The rows of the row group
+     * @return The encoded bytes
+     */
+    static byte[] encode(List<? extends User> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rows.size() * 32);
+        VarInts.writeUnsigned(out, rows.size());
+        encodeIds(out, rows);
+
+        List<String> names = new ArrayList<>(rows.size());
+        rows.forEach(user -> names.add(user.getName()));
+        encodeStrings(out, names);
+
+        encodeEmails(out, rows);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a row group previously written by {@link #encode(List)}.
+     *
+     * @param in Buffer positioned at the start of the row group
+     * @return The decoded rows
+     */
+    static List<User> decode(ByteBuffer in) {
+        int rowCount = VarInts.readInt(in);
+        List<User> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new User());
+        }
+
+        decodeIds(in, rows);
+
+        String[] names = decodeStrings(in, rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.get(i).setName(names[i]);
+        }
+
+        decodeEmails(in, rows);
+        return rows;
+    }
+
+    private static void encodeIds(ByteArrayOutputStream out, List<? extends User> rows) {
+        boolean allPresent = rows.stream().allMatch(user -> user.getId() != null);
+        if (allPresent) {
+            out.write(0);
+        } else {
+            out.write(1);
+            byte[] bitmap = new byte[(rows.size() + 7) / 8];
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i).getId() != null) {
+                    bitmap[i >> 3] |= (byte) (1 << (i & 7));
+                }
+            }
+            out.writeBytes(bitmap);
+        }
+
+        // Ids arrive sorted, so deltas are small and usually fit in a single byte
+        long previous = 0;
+        for (User user : rows) {
+            if (user.getId() != null) {
+                VarInts.writeSigned(out, user.getId() - previous);
+                previous = user.getId();
+            }
+        }
+    }
+
+    private static void decodeIds(ByteBuffer in, List<User> rows) {
+        byte[] bitmap = null;
+        if (in.get() == 1) {
+            bitmap = new byte[(rows.size() + 7) / 8];
+            in.get(bitmap);
+        }
+
+        long previous = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            if (bitmap == null || (bitmap[i >> 3] & (1 << (i & 7))) != 0) {
+                previous += VarInts.readSigned(in);
+                rows.get(i).setId(previous);
+            }
+        }
+    }
+
+    private static void encodeEmails(ByteArrayOutputStream out, List<? extends User> rows) {
+        Map<String, Integer> domains = new LinkedHashMap<>();
+        for (User user : rows) {
+            String email = user.getEmail();
+            int at = email != null ? email.lastIndexOf('@') : -1;
+            if (at >= 0) {
+                domains.putIfAbsent(email.substring(at + 1), domains.size());
+            }
+        }
+        writeDictionary(out, domains);
+
+        for (User user : rows) {
+            String email = user.getEmail();
+            if (email == null) {
+                out.write(0);
+                continue;
+            }
+            int at = email.lastIndexOf('@');
+            if (at < 0) {
+                out.write(1);
+                writeString(out, email);
+            } else {
+                VarInts.writeUnsigned(out, domains.get(email.substring(at + 1)) + 2L);
+                writeString(out, email.substring(0, at));
+            }
+        }
+    }
+
+    private static void decodeEmails(ByteBuffer in, List<User> rows) {
+        String[] domains = readDictionary(in);
+        for (User user : rows) {
+            int code = VarInts.readInt(in);
+            if (code == 0) {
+                continue;
+            }
+            String local = readString(in);
+            user.setEmail(code == 1 ? local : local + "@" + domains[code - 2]);
+        }
+    }
+
+    private static void encodeStrings(ByteArrayOutputStream out, List<String> values) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (String value : values) {
+            if (value != null) {
+                dictionary.putIfAbsent(value, dictionary.size());
+            }
+        }
+
+        // Only pay for the dictionary when values actually repeat
+        if (dictionary.size() * 2 > values.size()) {
+            out.write(PLAIN);
+            values.forEach(value -> writeString(out, value));
+            return;
+        }
+
+        out.write(DICTIONARY);
+        writeDictionary(out, dictionary);
+        for (String value : values) {
+            VarInts.writeUnsigned(out, value == null ? 0 : dictionary.get(value) + 1L);
+        }
+    }
+
+    private static String[] decodeStrings(ByteBuffer in, int rowCount) {
+        String[] values = new String[rowCount];
+        byte encoding = in.get();
+        if (encoding == PLAIN) {
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = readString(in);
+            }
+        } else if (encoding == DICTIONARY) {
+            String[] dictionary = readDictionary(in);
+            for (int i = 0; i < rowCount; i++) {
+                int code = VarInts.readInt(in);
+                values[i] = code == 0 ? null : dictionary[code - 1];
+            }
+        } else {
+            throw new IllegalStateException("Unknown string column encoding: " + encoding);
+        }
+        return values;
+    }
+
+    private static void writeDictionary(ByteArrayOutputStream out, Map<String, Integer> dictionary) {
+        VarInts.writeUnsigned(out, dictionary.size());
+        dictionary.keySet().forEach(value -> writeString(out, value));
+    }
+
+    private static String[] readDictionary(ByteBuffer in) {
+        String[] dictionary = new String[VarInts.readInt(in)];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readString(in);
+        }
+        return dictionary;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            out.write(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        VarInts.writeUnsigned(out, bytes.length + 1L);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = VarInts.readInt(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.batch.columnar;
+
+/**
+ * Footer index entry describing one row group of a columnar export file.
+ *
+ * @param offset Position of the row group in the file
+ * @param length Encoded size of the row group in bytes
+ * @param rowCount Number of rows in the row group
+ * @param minId Smallest non-null id in the row group, or {@link Long#MAX_VALUE} if there is none
+ * @param maxId Largest non-null id in the row group, or {@link Long#MIN_VALUE} if there is none
+ */
+public record RowGroupInfo(long offset, int length, int rowCount, long minId, long maxId) {
+
+    /**
+     * Checks whether this row group may contain ids in the given inclusive range.
+     *
+     * @param fromId Lower bound of the range
+     * @param toId Upper bound of the range
+     * @return true if the row group overlaps the range
+     */
+    public boolean overlaps(long fromId, long toId) {
+        return minId <= toId && maxId >= fromId;
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.batch.columnar;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Variable-length integer encoding used by the columnar format.
+ * Values are written 7 bits at a time, least significant group first, with the high bit
+ * of each byte set while more bytes follow. Signed values are zigzag encoded first so
+ * small negative numbers stay short.
+ */
+final class VarInts {
+
+    private VarInts() {
+    }
+
+    /**
+     * Writes an unsigned variable-length long.
+     */
+    static void writeUnsigned(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Writes a signed variable-length long using zigzag encoding.
+     */
+    static void writeSigned(ByteArrayOutputStream out, long value) {
+        writeUnsigned(out, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Reads an unsigned variable-length long.
+     *
+     * @throws IllegalStateException if the value is longer than 10 bytes
+     */
+    static long readUnsigned(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    /**
+     * Reads a signed variable-length long written with zigzag encoding.
+     */
+    static long readSigned(ByteBuffer in) {
+        long raw = readUnsigned(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /**
+     * Reads an unsigned variable-length value that must fit in an int.
+     */
+    static int readInt(ByteBuffer in) {
+        long value = readUnsigned(in);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Varint out of int range: " + value);
+        }
+        return (int) value;
+    }
+}
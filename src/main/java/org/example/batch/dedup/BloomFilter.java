@@ -0,0 +1,83 @@
+package org.example.batch.dedup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * Off-heap Bloom filter over 64-bit fingerprints.
+ * Bit positions are derived from the fingerprint with double hashing, so no further
+ * hashing of the original key is needed.
+ */
+final class BloomFilter {
+
+    private static final long MAX_BITS = 8L << 30;
+
+    private final LongBuffer bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Creates a filter sized for the expected number of items and false positive rate.
+     *
+     * @param expectedItems Number of distinct items the filter should hold
+     * @param falsePositiveRate Target false positive rate once the filter holds that many items
+     */
+    BloomFilter(long expectedItems, double falsePositiveRate) {
+        long words = words(expectedItems, falsePositiveRate);
+        this.bitCount = words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedItems * Math.log(2)));
+        this.bits = ByteBuffer.allocateDirect((int) (words * Long.BYTES))
+                .order(ByteOrder.nativeOrder())
+                .asLongBuffer();
+    }
+
+    /**
+     * Returns the off-heap size a filter with the given sizing allocates, in bytes.
+     *
+     * @param expectedItems Number of distinct items the filter should hold
+     * @param falsePositiveRate Target false positive rate once the filter holds that many items
+     * @return The size of the bit array in bytes
+     */
+    static long sizeInBytes(long expectedItems, double falsePositiveRate) {
+        return words(expectedItems, falsePositiveRate) * Long.BYTES;
+    }
+
+    private static long words(long expectedItems, double falsePositiveRate) {
+        if (expectedItems <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter sizing: expectedItems="
+                    + expectedItems + ", falsePositiveRate=" + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedItems * Math.log(falsePositiveRate) / (ln2 * ln2));
+        return (Math.min(Math.max(optimalBits, 64), MAX_BITS) + 63) / 64;
+    }
+
+    /**
+     * Records a fingerprint.
+     */
+    void put(long fingerprint) {
+        long h2 = Long.rotateLeft(fingerprint, 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(fingerprint + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            bits.put(word, bits.get(word) | (1L << bit));
+        }
+    }
+
+    /**
+     * Checks whether a fingerprint may have been recorded.
+     *
+     * @return false if the fingerprint was definitely never recorded
+     */
+    boolean mightContain(long fingerprint) {
+        long h2 = Long.rotateLeft(fingerprint, 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(fingerprint + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
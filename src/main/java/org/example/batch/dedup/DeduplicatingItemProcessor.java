@@ -0,0 +1,200 @@
+package org.example.batch.dedup;
+
+import org.example.model.User;
+import org.example.utils.UserFieldExtractor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Drops users whose business key has already been seen during the step.
+ * Keys are reduced to 64-bit fingerprints held in an off-heap open-addressing hash set,
+ * optionally fronted by a Bloom filter so most new keys are accepted without probing.
+ * When the set reaches its memory budget it is spilled to disk as a sorted run and emptied.
+ * The memory budget covers all off-heap memory of the stage: the Bloom filter is allocated
+ * from it first and the fingerprint set gets the rest.
+ *
+ * <p>Two different keys can share a fingerprint, in which case the second one is dropped
+ * as a duplicate; with 64-bit fingerprints this is unlikely below billions of keys.
+ * The seen keys are not part of the saved state, so a restarted step only deduplicates
+ * the rows it reads after the restart.
+ */
+public class DeduplicatingItemProcessor implements ItemProcessor<User, User>, ItemStream {
+
+    private static final Logger log = LoggerFactory.getLogger(DeduplicatingItemProcessor.class);
+
+    /** Execution context key (after the name prefix) holding the number of duplicates dropped */
+    public static final String DUPLICATES_KEY = "duplicates";
+
+    /** Smallest off-heap memory left for the fingerprint set after the Bloom filter */
+    private static final long MIN_SET_BYTES = 1024 * 1024;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final UserFieldExtractor fieldExtractor = new UserFieldExtractor();
+    private final String name;
+    private final int[] keyIndexes;
+    /** Off-heap bytes left for the fingerprint set once the Bloom filter is allocated */
+    private final long memoryBudget;
+    private final long bloomExpectedItems;
+    private final double bloomFalsePositiveRate;
+    private final Path spillDirectory;
+
+    private OffHeapFingerprintSet seen;
+    private BloomFilter bloomFilter;
+    private SpilledFingerprintRuns spilledRuns;
+    private Path runDirectory;
+    private long duplicates;
+
+    /**
+     * Creates a new processor.
+     *
+     * @param name Name used to prefix the keys saved in the execution context
+     * @param keyFields Fields of {@link UserFieldExtractor} that make up the business key
+     * @param memoryBudget Maximum off-heap bytes for the Bloom filter and the fingerprint set together
+     * @param bloomExpectedItems Expected distinct keys for the Bloom filter, or 0 to disable it
+     * @param bloomFalsePositiveRate Target false positive rate of the Bloom filter
+     * @param spillDirectory Directory where full fingerprint sets are spilled
+     */
+    public DeduplicatingItemProcessor(String name, List<String> keyFields, long memoryBudget,
+                                      long bloomExpectedItems, double bloomFalsePositiveRate,
+                                      Path spillDirectory) {
+        if (keyFields == null || keyFields.isEmpty()) {
+            throw new IllegalArgumentException("At least one key field is required");
+        }
+        this.name = name;
+        List<String> fieldNames = fieldExtractor.getFieldNames();
+        this.keyIndexes = new int[keyFields.size()];
+        for (int i = 0; i < keyFields.size(); i++) {
+            keyIndexes[i] = fieldNames.indexOf(keyFields.get(i));
+            if (keyIndexes[i] < 0) {
+                throw new IllegalArgumentException("Unknown key field '" + keyFields.get(i)
+                        + "', expected one of " + fieldNames);
+            }
+        }
+        long bloomBytes = bloomExpectedItems > 0
+                ? BloomFilter.sizeInBytes(bloomExpectedItems, bloomFalsePositiveRate)
+                : 0;
+        if (memoryBudget - bloomBytes < MIN_SET_BYTES) {
+            throw new IllegalArgumentException("Dedup memory budget of " + memoryBudget + " bytes leaves less than "
+                    + MIN_SET_BYTES + " bytes for the fingerprint set after the " + bloomBytes
+                    + " byte Bloom filter; raise the budget or lower the Bloom filter's expected items");
+        }
+        this.memoryBudget = memoryBudget - bloomBytes;
+        this.bloomExpectedItems = bloomExpectedItems;
+        this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        duplicates = executionContext.getLong(executionContextKey(DUPLICATES_KEY), 0L);
+        try {
+            Files.createDirectories(spillDirectory);
+            runDirectory = Files.createTempDirectory(spillDirectory, "dedup-");
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to create dedup spill directory in " + spillDirectory, e);
+        }
+        seen = new OffHeapFingerprintSet(memoryBudget);
+        spilledRuns = new SpilledFingerprintRuns(runDirectory);
+        bloomFilter = bloomExpectedItems > 0 ? new BloomFilter(bloomExpectedItems, bloomFalsePositiveRate) : null;
+    }
+
+    @Override
+    public User process(User user) throws Exception {
+        long fingerprint = fingerprint(user);
+
+        // A Bloom filter miss proves the key is new without touching the set or the runs
+        boolean maybeSeen = bloomFilter == null || bloomFilter.mightContain(fingerprint);
+        if (maybeSeen && (seen.contains(fingerprint) || spilledRuns.contains(fingerprint))) {
+            duplicates++;
+            return null;
+        }
+
+        if (!seen.hasRoom()) {
+            spilledRuns.spill(seen);
+            log.info("Dedup set reached its memory budget, spilled run {} to {}", spilledRuns.size(), runDirectory);
+        }
+        seen.add(fingerprint);
+        if (bloomFilter != null) {
+            bloomFilter.put(fingerprint);
+        }
+        return user;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        executionContext.putLong(executionContextKey(DUPLICATES_KEY), duplicates);
+    }
+
+    @Override
+    public void close() {
+        if (spilledRuns == null) {
+            return;
+        }
+        log.info("Dedup dropped {} duplicates using {} spilled runs", duplicates, spilledRuns.size());
+        try {
+            spilledRuns.delete();
+            Files.deleteIfExists(runDirectory);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to delete dedup spill files in " + runDirectory, e);
+        } finally {
+            seen = null;
+            bloomFilter = null;
+            spilledRuns = null;
+        }
+    }
+
+    /**
+     * Returns the number of duplicates dropped so far.
+     *
+     * @return The duplicate count
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    private String executionContextKey(String key) {
+        return name + "." + key;
+    }
+
+    /**
+     * Computes the 64-bit fingerprint of the user's business key: FNV-1a over the key
+     * fields, with a separator between fields and a marker for nulls, followed by the
+     * MurmurHash3 finalizer to spread the bits.
+     */
+    private long fingerprint(User user) {
+        Object[] values = fieldExtractor.extract(user);
+        long hash = FNV_OFFSET;
+        for (int index : keyIndexes) {
+            Object value = values[index];
+            if (value == null) {
+                hash = (hash ^ 0xFF) * FNV_PRIME;
+            } else {
+                String text = value.toString();
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    hash = (hash ^ (c & 0xFF)) * FNV_PRIME;
+                    hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+                }
+            }
+            hash = (hash ^ 0xFE) * FNV_PRIME;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,221 @@
+package org.example.batch.dedup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Open-addressing hash set of 64-bit fingerprints stored in a direct (off-heap) buffer.
+ * Uses linear probing with 0 as the empty slot marker; a 0 fingerprint is tracked by a flag.
+ * The table starts small and doubles until it reaches the configured memory budget.
+ * While doubling, the old and the new table are both allocated, so the largest table
+ * is sized for that peak (one and a half times the table) to stay within the budget.
+ */
+final class OffHeapFingerprintSet {
+
+    private static final double MAX_LOAD = 0.7;
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    /** Keeps a single table within what one buffer (and one spill run) can address */
+    private static final long MAX_TABLE_BYTES = 1L << 30;
+
+    private final int maxCapacity;
+
+    private ByteBuffer bytes;
+    private LongBuffer table;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    /**
+     * Creates a new set.
+     *
+     * @param memoryBudget Maximum number of off-heap bytes the set may use, including while it grows
+     */
+    OffHeapFingerprintSet(long memoryBudget) {
+        this.maxCapacity = maxCapacity(memoryBudget);
+        allocate(Math.min(INITIAL_CAPACITY, maxCapacity));
+    }
+
+    /**
+     * Checks whether the fingerprint is in the set.
+     */
+    boolean contains(long fingerprint) {
+        if (fingerprint == 0) {
+            return containsZero;
+        }
+        for (int slot = slot(fingerprint); ; slot = (slot + 1) & mask) {
+            long value = table.get(slot);
+            if (value == fingerprint) {
+                return true;
+            }
+            if (value == 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Checks whether one more fingerprint fits, growing the table within the budget if needed.
+     *
+     * @return false if the set is full and must be spilled before adding more
+     */
+    boolean hasRoom() {
+        if (size + 1 <= threshold(table.capacity())) {
+            return true;
+        }
+        if (table.capacity() >= maxCapacity) {
+            return false;
+        }
+        grow();
+        return true;
+    }
+
+    /**
+     * Adds a fingerprint. The caller must check {@link #hasRoom()} first.
+     *
+     * @return true if the fingerprint was not already present
+     */
+    boolean add(long fingerprint) {
+        if (fingerprint == 0) {
+            boolean added = !containsZero;
+            containsZero = true;
+            size += added ? 1 : 0;
+            return added;
+        }
+        if (insert(table, mask, fingerprint)) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of fingerprints in the set.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Sorts the fingerprints and writes them to the channel as native-order longs, then
+     * empties the set. The sort runs in place on the off-heap table, so spilling needs no
+     * extra memory.
+     *
+     * @param channel The channel to write the sorted fingerprints to
+     * @throws IOException If the fingerprints cannot be written
+     */
+    void spillSorted(FileChannel channel) throws IOException {
+        // Compact the occupied slots to the front of the table, then sort that prefix
+        int count = 0;
+        for (int i = 0; i < table.capacity(); i++) {
+            long value = table.get(i);
+            if (value != 0) {
+                table.put(i, 0L);
+                table.put(count++, value);
+            }
+        }
+        if (containsZero) {
+            // The load limit guarantees a free slot after the compacted prefix
+            table.put(count++, 0L);
+        }
+        heapSort(table, count);
+
+        ByteBuffer sorted = bytes.duplicate().position(0).limit(count * Long.BYTES);
+        while (sorted.hasRemaining()) {
+            channel.write(sorted);
+        }
+        clear();
+    }
+
+    /**
+     * Removes every fingerprint, keeping the current table size.
+     */
+    void clear() {
+        for (int i = 0; i < table.capacity(); i++) {
+            table.put(i, 0L);
+        }
+        size = 0;
+        containsZero = false;
+    }
+
+    /**
+     * Returns the largest table capacity whose growth peak fits in the budget: growing from
+     * half the capacity holds both tables, 12 bytes per slot of the final table.
+     */
+    static int maxCapacity(long memoryBudget) {
+        long budget = Math.min(memoryBudget * 2 / 3, MAX_TABLE_BYTES);
+        return (int) Long.highestOneBit(Math.max(budget / Long.BYTES, 16));
+    }
+
+    private void grow() {
+        LongBuffer old = table;
+        allocate(old.capacity() * 2);
+        for (int i = 0; i < old.capacity(); i++) {
+            long value = old.get(i);
+            if (value != 0) {
+                insert(table, mask, value);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        bytes = ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder());
+        table = bytes.asLongBuffer();
+        mask = capacity - 1;
+    }
+
+    private int slot(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+    }
+
+    private boolean insert(LongBuffer target, int targetMask, long fingerprint) {
+        for (int slot = (int) (fingerprint ^ (fingerprint >>> 32)) & targetMask; ; slot = (slot + 1) & targetMask) {
+            long value = target.get(slot);
+            if (value == fingerprint) {
+                return false;
+            }
+            if (value == 0) {
+                target.put(slot, fingerprint);
+                return true;
+            }
+        }
+    }
+
+    private static int threshold(int capacity) {
+        return (int) (capacity * MAX_LOAD);
+    }
+
+    private static void heapSort(LongBuffer values, int count) {
+        for (int i = count / 2 - 1; i >= 0; i--) {
+            siftDown(values, i, count);
+        }
+        for (int end = count - 1; end > 0; end--) {
+            long top = values.get(0);
+            values.put(0, values.get(end));
+            values.put(end, top);
+            siftDown(values, 0, end);
+        }
+    }
+
+    private static void siftDown(LongBuffer values, int index, int count) {
+        long value = values.get(index);
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= count) {
+                break;
+            }
+            if (child + 1 < count && values.get(child + 1) > values.get(child)) {
+                child++;
+            }
+            if (values.get(child) <= value) {
+                break;
+            }
+            values.put(index, values.get(child));
+            index = child;
+        }
+        values.put(index, value);
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.batch.dedup;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sorted runs of fingerprints spilled to disk when the in-memory set is full.
+ * Each run is memory-mapped and searched with a binary search, leaving caching of
+ * the pages to the operating system.
+ */
+final class SpilledFingerprintRuns {
+
+    private final Path directory;
+    private final List<LongBuffer> runs = new ArrayList<>();
+    private final List<Path> files = new ArrayList<>();
+
+    /**
+     * Creates an empty set of runs stored in the given directory.
+     *
+     * @param directory Directory the run files are written to
+     */
+    SpilledFingerprintRuns(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Spills the contents of the set as a new sorted run and empties the set.
+     *
+     * @param set The set to spill
+     * @throws IOException If the run cannot be written or mapped
+     */
+    void spill(OffHeapFingerprintSet set) throws IOException {
+        Path file = directory.resolve("run-" + runs.size() + ".fp");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            set.spillSorted(channel);
+            runs.add(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.nativeOrder())
+                    .asLongBuffer());
+        }
+        files.add(file);
+    }
+
+    /**
+     * Checks whether any spilled run contains the fingerprint.
+     */
+    boolean contains(long fingerprint) {
+        for (LongBuffer run : runs) {
+            int low = 0;
+            int high = run.limit() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long value = run.get(mid);
+                if (value < fingerprint) {
+                    low = mid + 1;
+                } else if (value > fingerprint) {
+                    high = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of runs spilled so far.
+     */
+    int size() {
+        return runs.size();
+    }
+
+    /**
+     * Releases the runs and deletes their files.
+     *
+     * @throws IOException If a run file cannot be deleted
+     */
+    void delete() throws IOException {
+        runs.clear();
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+        files.clear();
+    }
+}
@@ -1,6 +1,12 @@
 package org.example.batch.properties;
 
+import org.example.batch.writer.ExportFormat;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Configuration properties for the batch export application.
@@ -19,6 +25,21 @@ public class BatchProperties {
     /** Output configuration for exported files */
     private Output output = new Output();
     
+    /** Deduplication settings applied between reading and writing */
+    private Dedup dedup = new Dedup();
+
+    /** External sort settings used when an export is ordered by a column other than id */
+    private Sort sort = new Sort();
+
+    /** Adaptive throttling of page queries against the source database */
+    private Throttle throttle = new Throttle();
+
+    /** Settings for the preview and row count endpoints */
+    private Preview preview = new Preview();
+
+    /** Built-in cron-scheduled exports */
+    private Scheduling scheduling = new Scheduling();
+
     /** Base SQL query used for data export (SELECT clause) */
     private String baseQuery = "";
     
@@ -61,6 +82,66 @@ public class BatchProperties {
      */
     public void setOutput(Output output) { this.output = output; }
 
+    /**
+     * Gets the deduplication configuration
+     * @return The deduplication configuration
+     */
+    public Dedup getDedup() { return dedup; }
+
+    /**
+     * Sets the deduplication configuration
+     * @param dedup The deduplication configuration to set
+     */
+    public void setDedup(Dedup dedup) { this.dedup = dedup; }
+
+    /**
+     * Gets the external sort configuration
+     * @return The external sort configuration
+     */
+    public Sort getSort() { return sort; }
+
+    /**
+     * Sets the external sort configuration
+     * @param sort The external sort configuration to set
+     */
+    public void setSort(Sort sort) { this.sort = sort; }
+
+    /**
+     * Gets the read throttle configuration
+     * @return The read throttle configuration
+     */
+    public Throttle getThrottle() { return throttle; }
+
+    /**
+     * Sets the read throttle configuration
+     * @param throttle The read throttle configuration to set
+     */
+    public void setThrottle(Throttle throttle) { this.throttle = throttle; }
+
+    /**
+     * Gets the preview configuration
+     * @return The preview configuration
+     */
+    public Preview getPreview() { return preview; }
+
+    /**
+     * Sets the preview configuration
+     * @param preview The preview configuration to set
+     */
+    public void setPreview(Preview preview) { this.preview = preview; }
+
+    /**
+     * Gets the scheduling configuration
+     * @return The scheduling configuration
+     */
+    public Scheduling getScheduling() { return scheduling; }
+
+    /**
+     * Sets the scheduling configuration
+     * @param scheduling The scheduling configuration to set
+     */
+    public void setScheduling(Scheduling scheduling) { this.scheduling = scheduling; }
+
     /**
      * Gets the base SQL query
      * @return The base SQL query
@@ -126,14 +207,35 @@ public class BatchProperties {
      * Builds a complete SQL query by combining the base query with a WHERE clause.
      * If the provided WHERE clause is null or empty, the default WHERE clause is used.
      * 
-     * @param whereClause The WHERE clause to use
+     * @param whereClause The WHERE clause to use, with or without the WHERE keyword
      * @return The complete SQL query
      */
     public String buildFullQuery(String whereClause) {
+        String where = buildWhereClause(whereClause);
+        return where.isEmpty() ? baseQuery : baseQuery + " " + where;
+    }
+
+    /**
+     * Normalizes a WHERE clause the same way the paging query provider of the export does:
+     * the default WHERE clause is used if the provided one is null or empty, and the leading
+     * WHERE keyword is optional.
+     *
+     * @param whereClause The WHERE clause to use, with or without the WHERE keyword
+     * @return The clause starting with "WHERE ", or an empty string if there is no condition
+     */
+    public String buildWhereClause(String whereClause) {
         if (whereClause == null || whereClause.trim().isEmpty()) {
             whereClause = defaultWhereClause;
         }
-        return baseQuery + " " + whereClause;
+        if (whereClause == null) {
+            return "";
+        }
+        String condition = whereClause.trim();
+        if (condition.regionMatches(true, 0, "where", 0, 5)
+                && (condition.length() == 5 || Character.isWhitespace(condition.charAt(5)))) {
+            condition = condition.substring(5).trim();
+        }
+        return condition.isEmpty() ? "" : "WHERE " + condition;
     }
 
     /**
@@ -149,11 +251,31 @@ public class BatchProperties {
         /** Whether to include a header row in the output file */
         private boolean includeHeader;
 
+        /** Formats to write; more than one enables the fan-out writer */
+        private List<ExportFormat> formats = new ArrayList<>(List.of(ExportFormat.TSV));
+
+        /** Whether TSV chunks are formatted on a worker pool and appended by a single thread */
+        private boolean parallelFormatting;
+
+        /** Number of formatting threads; 0 uses one per available processor */
+        private int formattingThreads;
+
+        /** Number of rows per row group in the columnar format */
+        private int columnarRowGroupSize = 10000;
+
         /**
          * Gets the output directory
          * @return The output directory
          */
         public String getDirectory() { return directory; }
+
+        /**
+         * Gets the output directory to write to, falling back to 'target' if none is configured
+         * @return The effective output directory
+         */
+        public String resolveDirectory() {
+            return directory == null || directory.isBlank() ? "target" : directory;
+        }
         
         /**
          * Sets the output directory
@@ -188,5 +310,600 @@ public class BatchProperties {
         public void setIncludeHeader(boolean includeHeader) {
             this.includeHeader = includeHeader;
         }
+
+        /**
+         * Gets the output formats
+         * @return The output formats
+         */
+        public List<ExportFormat> getFormats() { return formats; }
+
+        /**
+         * Sets the output formats
+         * @param formats The output formats to set
+         */
+        public void setFormats(List<ExportFormat> formats) { this.formats = formats; }
+
+        /**
+         * Checks if parallel formatting is enabled
+         * @return true if parallel formatting is enabled, false otherwise
+         */
+        public boolean isParallelFormatting() { return parallelFormatting; }
+
+        /**
+         * Sets whether parallel formatting is enabled
+         * @param parallelFormatting true to enable parallel formatting, false otherwise
+         */
+        public void setParallelFormatting(boolean parallelFormatting) {
+            this.parallelFormatting = parallelFormatting;
+        }
+
+        /**
+         * Gets the number of formatting threads
+         * @return The number of formatting threads, or 0 for one per available processor
+         */
+        public int getFormattingThreads() { return formattingThreads; }
+
+        /**
+         * Sets the number of formatting threads
+         * @param formattingThreads The number of formatting threads, or 0 for one per available processor
+         */
+        public void setFormattingThreads(int formattingThreads) { this.formattingThreads = formattingThreads; }
+
+        /**
+         * Gets the number of rows per columnar row group
+         * @return The columnar row group size
+         */
+        public int getColumnarRowGroupSize() { return columnarRowGroupSize; }
+
+        /**
+         * Sets the number of rows per columnar row group
+         * @param columnarRowGroupSize The columnar row group size to set
+         */
+        public void setColumnarRowGroupSize(int columnarRowGroupSize) {
+            this.columnarRowGroupSize = columnarRowGroupSize;
+        }
+    }
+
+    /**
+     * Nested class for deduplication settings
+     */
+    public static class Dedup {
+        /** Whether rows with an already exported key are dropped */
+        private boolean enabled;
+
+        /** Fields making up the deduplication key, as named by UserFieldExtractor */
+        private List<String> keyFields = new ArrayList<>(List.of("email"));
+
+        /** Total off-heap memory of the dedup stage: the Bloom filter plus the fingerprint set, which spills to disk when full */
+        private DataSize memoryBudget = DataSize.ofMegabytes(256);
+
+        /** Expected number of distinct keys used to size the Bloom filter (taken from memory-budget); 0 disables it */
+        private long bloomFilterExpectedItems = 100_000_000L;
+
+        /** Target false positive rate of the Bloom filter */
+        private double bloomFilterFalsePositiveRate = 0.01;
+
+        /** Directory where full fingerprint sets are spilled; defaults to the system temp directory */
+        private String spillDirectory;
+
+        /**
+         * Checks if deduplication is enabled
+         * @return true if deduplication is enabled, false otherwise
+         */
+        public boolean isEnabled() { return enabled; }
+
+        /**
+         * Sets whether deduplication is enabled
+         * @param enabled true to enable deduplication, false otherwise
+         */
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        /**
+         * Gets the deduplication key fields
+         * @return The key fields
+         */
+        public List<String> getKeyFields() { return keyFields; }
+
+        /**
+         * Sets the deduplication key fields
+         * @param keyFields The key fields to set
+         */
+        public void setKeyFields(List<String> keyFields) { this.keyFields = keyFields; }
+
+        /**
+         * Gets the memory budget of the fingerprint set
+         * @return The memory budget
+         */
+        public DataSize getMemoryBudget() { return memoryBudget; }
+
+        /**
+         * Sets the memory budget of the fingerprint set
+         * @param memoryBudget The memory budget to set
+         */
+        public void setMemoryBudget(DataSize memoryBudget) { this.memoryBudget = memoryBudget; }
+
+        /**
+         * Gets the expected number of distinct keys for the Bloom filter
+         * @return The expected number of keys, or 0 if the Bloom filter is disabled
+         */
+        public long getBloomFilterExpectedItems() { return bloomFilterExpectedItems; }
+
+        /**
+         * Sets the expected number of distinct keys for the Bloom filter
+         * @param bloomFilterExpectedItems The expected number of keys, or 0 to disable the Bloom filter
+         */
+        public void setBloomFilterExpectedItems(long bloomFilterExpectedItems) {
+            this.bloomFilterExpectedItems = bloomFilterExpectedItems;
+        }
+
+        /**
+         * Gets the Bloom filter false positive rate
+         * @return The false positive rate
+         */
+        public double getBloomFilterFalsePositiveRate() { return bloomFilterFalsePositiveRate; }
+
+        /**
+         * Sets the Bloom filter false positive rate
+         * @param bloomFilterFalsePositiveRate The false positive rate to set
+         */
+        public void setBloomFilterFalsePositiveRate(double bloomFilterFalsePositiveRate) {
+            this.bloomFilterFalsePositiveRate = bloomFilterFalsePositiveRate;
+        }
+
+        /**
+         * Gets the spill directory
+         * @return The spill directory
+         */
+        public String getSpillDirectory() { return spillDirectory; }
+
+        /**
+         * Sets the spill directory
+         * @param spillDirectory The spill directory to set
+         */
+        public void setSpillDirectory(String spillDirectory) { this.spillDirectory = spillDirectory; }
+    }
+
+    /**
+     * Nested class for external sort settings
+     */
+    public static class Sort {
+        /** Maximum number of rows sorted in memory before a run is spilled to disk */
+        private int runSize = 100_000;
+
+        /** Maximum number of runs merged at once */
+        private int mergeFanIn = 64;
+
+        /** Directory where sorted runs are spilled; defaults to the system temp directory */
+        private String spillDirectory;
+
+        /**
+         * Gets the run size
+         * @return The run size
+         */
+        public int getRunSize() { return runSize; }
+
+        /**
+         * Sets the run size
+         * @param runSize The run size to set
+         */
+        public void setRunSize(int runSize) { this.runSize = runSize; }
+
+        /**
+         * Gets the merge fan-in
+         * @return The merge fan-in
+         */
+        public int getMergeFanIn() { return mergeFanIn; }
+
+        /**
+         * Sets the merge fan-in
+         * @param mergeFanIn The merge fan-in to set
+         */
+        public void setMergeFanIn(int mergeFanIn) { this.mergeFanIn = mergeFanIn; }
+
+        /**
+         * Gets the spill directory
+         * @return The spill directory
+         */
+        public String getSpillDirectory() { return spillDirectory; }
+
+        /**
+         * Sets the spill directory
+         * @param spillDirectory The spill directory to set
+         */
+        public void setSpillDirectory(String spillDirectory) { this.spillDirectory = spillDirectory; }
+    }
+
+    /**
+     * Nested class for adaptive read throttle settings
+     */
+    public static class Throttle {
+        /** Whether page queries are paced by observed query latency */
+        private boolean enabled;
+
+        /** Page queries per second allowed before any latency is observed */
+        private double initialPagesPerSecond = 10;
+
+        /** Lowest page query rate the throttle backs off to */
+        private double minPagesPerSecond = 0.5;
+
+        /** Highest page query rate the throttle ramps up to */
+        private double maxPagesPerSecond = 100;
+
+        /** Pages per second added after each healthy query */
+        private double additiveIncrease = 1;
+
+        /** Factor applied to the rate after a slow query */
+        private double multiplicativeDecrease = 0.5;
+
+        /** How many times the baseline latency still counts as healthy */
+        private double latencyTolerance = 2;
+
+        /** Number of recent page latencies the baseline (their 10th percentile) is taken from */
+        private int baselineWindow = 100;
+
+        /**
+         * Checks if the read throttle is enabled
+         * @return true if the read throttle is enabled, false otherwise
+         */
+        public boolean isEnabled() { return enabled; }
+
+        /**
+         * Sets whether the read throttle is enabled
+         * @param enabled true to enable the read throttle, false otherwise
+         */
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        /**
+         * Gets the initial page query rate
+         * @return The initial pages per second
+         */
+        public double getInitialPagesPerSecond() { return initialPagesPerSecond; }
+
+        /**
+         * Sets the initial page query rate
+         * @param initialPagesPerSecond The initial pages per second to set
+         */
+        public void setInitialPagesPerSecond(double initialPagesPerSecond) {
+            this.initialPagesPerSecond = initialPagesPerSecond;
+        }
+
+        /**
+         * Gets the minimum page query rate
+         * @return The minimum pages per second
+         */
+        public double getMinPagesPerSecond() { return minPagesPerSecond; }
+
+        /**
+         * Sets the minimum page query rate
+         * @param minPagesPerSecond The minimum pages per second to set
+         */
+        public void setMinPagesPerSecond(double minPagesPerSecond) { this.minPagesPerSecond = minPagesPerSecond; }
+
+        /**
+         * Gets the maximum page query rate
+         * @return The maximum pages per second
+         */
+        public double getMaxPagesPerSecond() { return maxPagesPerSecond; }
+
+        /**
+         * Sets the maximum page query rate
+         * @param maxPagesPerSecond The maximum pages per second to set
+         */
+        public void setMaxPagesPerSecond(double maxPagesPerSecond) { this.maxPagesPerSecond = maxPagesPerSecond; }
+
+        /**
+         * Gets the additive increase
+         * @return The pages per second added after a healthy query
+         */
+        public double getAdditiveIncrease() { return additiveIncrease; }
+
+        /**
+         * Sets the additive increase
+         * @param additiveIncrease The pages per second added after a healthy query
+         */
+        public void setAdditiveIncrease(double additiveIncrease) { this.additiveIncrease = additiveIncrease; }
+
+        /**
+         * Gets the multiplicative decrease
+         * @return The factor applied to the rate after a slow query
+         */
+        public double getMultiplicativeDecrease() { return multiplicativeDecrease; }
+
+        /**
+         * Sets the multiplicative decrease
+         * @param multiplicativeDecrease The factor applied to the rate after a slow query
+         */
+        public void setMultiplicativeDecrease(double multiplicativeDecrease) {
+            this.multiplicativeDecrease = multiplicativeDecrease;
+        }
+
+        /**
+         * Gets the latency tolerance
+         * @return The multiple of the baseline latency still counted as healthy
+         */
+        public double getLatencyTolerance() { return latencyTolerance; }
+
+        /**
+         * Sets the latency tolerance
+         * @param latencyTolerance The multiple of the baseline latency still counted as healthy
+         */
+        public void setLatencyTolerance(double latencyTolerance) { this.latencyTolerance = latencyTolerance; }
+
+        /**
+         * Gets the baseline window
+         * @return The number of recent page latencies the baseline is taken from
+         */
+        public int getBaselineWindow() { return baselineWindow; }
+
+        /**
+         * Sets the baseline window
+         * @param baselineWindow The number of recent page latencies the baseline is taken from
+         */
+        public void setBaselineWindow(int baselineWindow) { this.baselineWindow = baselineWindow; }
+
+        /**
+         * Returns a copy of these settings with per-job rate limits applied.
+         * Setting either limit enables the throttle for that job even if it is disabled globally.
+         * @param minPagesPerSecond Lowest page query rate of the job, or null to keep the configured one
+         * @param maxPagesPerSecond Highest page query rate of the job, or null to keep the configured one
+         * @return The throttle settings of the job
+         * @throws IllegalArgumentException If the resulting limits are not positive or min exceeds max
+         */
+        public Throttle withLimits(Double minPagesPerSecond, Double maxPagesPerSecond) {
+            Throttle job = new Throttle();
+            job.enabled = enabled || minPagesPerSecond != null || maxPagesPerSecond != null;
+            job.initialPagesPerSecond = initialPagesPerSecond;
+            job.minPagesPerSecond = minPagesPerSecond != null ? minPagesPerSecond : this.minPagesPerSecond;
+            job.maxPagesPerSecond = maxPagesPerSecond != null ? maxPagesPerSecond : this.maxPagesPerSecond;
+            job.additiveIncrease = additiveIncrease;
+            job.multiplicativeDecrease = multiplicativeDecrease;
+            job.latencyTolerance = latencyTolerance;
+            job.baselineWindow = baselineWindow;
+            if (job.enabled && (job.minPagesPerSecond <= 0 || job.maxPagesPerSecond < job.minPagesPerSecond)) {
+                throw new IllegalArgumentException("Invalid throttle limits: min-pages-per-second="
+                        + job.minPagesPerSecond + ", max-pages-per-second=" + job.maxPagesPerSecond);
+            }
+            return job;
+        }
+    }
+
+    /**
+     * Nested class for preview and row count settings
+     */
+    public static class Preview {
+        /** Number of rows returned by a preview when no limit is given */
+        private int defaultLimit = 20;
+
+        /** Largest limit a preview accepts */
+        private int maxLimit = 1000;
+
+        /** Statement timeout for preview and count queries */
+        private Duration queryTimeout = Duration.ofSeconds(10);
+
+        /** How long a row count is served from the cache */
+        private Duration countCacheTtl = Duration.ofMinutes(1);
+
+        /** Most row counts kept in the cache; further counts are not cached until entries expire */
+        private int countCacheMaxEntries = 1000;
+
+        /**
+         * Gets the default preview limit
+         * @return The default limit
+         */
+        public int getDefaultLimit() { return defaultLimit; }
+
+        /**
+         * Sets the default preview limit
+         * @param defaultLimit The default limit to set
+         */
+        public void setDefaultLimit(int defaultLimit) { this.defaultLimit = defaultLimit; }
+
+        /**
+         * Gets the maximum preview limit
+         * @return The maximum limit
+         */
+        public int getMaxLimit() { return maxLimit; }
+
+        /**
+         * Sets the maximum preview limit
+         * @param maxLimit The maximum limit to set
+         */
+        public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+
+        /**
+         * Gets the query timeout
+         * @return The query timeout
+         */
+        public Duration getQueryTimeout() { return queryTimeout; }
+
+        /**
+         * Sets the query timeout
+         * @param queryTimeout The query timeout to set
+         */
+        public void setQueryTimeout(Duration queryTimeout) { this.queryTimeout = queryTimeout; }
+
+        /**
+         * Gets the row count cache TTL
+         * @return The row count cache TTL
+         */
+        public Duration getCountCacheTtl() { return countCacheTtl; }
+
+        /**
+         * Sets the row count cache TTL
+         * @param countCacheTtl The row count cache TTL to set
+         */
+        public void setCountCacheTtl(Duration countCacheTtl) { this.countCacheTtl = countCacheTtl; }
+
+        /**
+         * Gets the maximum number of cached row counts
+         * @return The maximum number of cached row counts
+         */
+        public int getCountCacheMaxEntries() { return countCacheMaxEntries; }
+
+        /**
+         * Sets the maximum number of cached row counts
+         * @param countCacheMaxEntries The maximum number of cached row counts to set
+         */
+        public void setCountCacheMaxEntries(int countCacheMaxEntries) { this.countCacheMaxEntries = countCacheMaxEntries; }
+    }
+
+    /**
+     * Nested class for scheduled export settings
+     */
+    public static class Scheduling {
+        /** Maximum number of scheduled exports running at the same time */
+        private int maxConcurrentRuns = 1;
+
+        /** Number of triggered exports that may wait for a free run slot */
+        private int queueCapacity = 10;
+
+        /** Export definitions run on a cron schedule */
+        private List<ScheduledExport> exports = new ArrayList<>();
+
+        /**
+         * Gets the maximum number of concurrent runs
+         * @return The maximum number of concurrent runs
+         */
+        public int getMaxConcurrentRuns() { return maxConcurrentRuns; }
+
+        /**
+         * Sets the maximum number of concurrent runs
+         * @param maxConcurrentRuns The maximum number of concurrent runs to set
+         */
+        public void setMaxConcurrentRuns(int maxConcurrentRuns) { this.maxConcurrentRuns = maxConcurrentRuns; }
+
+        /**
+         * Gets the queue capacity
+         * @return The queue capacity
+         */
+        public int getQueueCapacity() { return queueCapacity; }
+
+        /**
+         * Sets the queue capacity
+         * @param queueCapacity The queue capacity to set
+         */
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+        /**
+         * Gets the scheduled export definitions
+         * @return The scheduled export definitions
+         */
+        public List<ScheduledExport> getExports() { return exports; }
+
+        /**
+         * Sets the scheduled export definitions
+         * @param exports The scheduled export definitions to set
+         */
+        public void setExports(List<ScheduledExport> exports) { this.exports = exports; }
+    }
+
+    /**
+     * Nested class for a single scheduled export definition
+     */
+    public static class ScheduledExport {
+        /** Unique name, used for output filenames and the stable "latest" file */
+        private String name;
+
+        /** Spring cron expression (second minute hour day month weekday) */
+        private String cron;
+
+        /** Time zone the cron expression is evaluated in; defaults to the server time zone */
+        private String zone;
+
+        /** WHERE clause of the export; the default one is used if empty */
+        private String whereClause;
+
+        /** Column to order the output by; id order if empty */
+        private String sortBy;
+
+        /** Lowest page query rate of this export; the batch.throttle one if not set */
+        private Double minPagesPerSecond;
+
+        /** Highest page query rate of this export; the batch.throttle one if not set */
+        private Double maxPagesPerSecond;
+
+        /**
+         * Gets the export name
+         * @return The export name
+         */
+        public String getName() { return name; }
+
+        /**
+         * Sets the export name
+         * @param name The export name to set
+         */
+        public void setName(String name) { this.name = name; }
+
+        /**
+         * Gets the cron expression
+         * @return The cron expression
+         */
+        public String getCron() { return cron; }
+
+        /**
+         * Sets the cron expression
+         * @param cron The cron expression to set
+         */
+        public void setCron(String cron) { this.cron = cron; }
+
+        /**
+         * Gets the cron time zone
+         * @return The time zone ID, or null for the server time zone
+         */
+        public String getZone() { return zone; }
+
+        /**
+         * Sets the cron time zone
+         * @param zone The time zone ID to set
+         */
+        public void setZone(String zone) { this.zone = zone; }
+
+        /**
+         * Gets the WHERE clause
+         * @return The WHERE clause
+         */
+        public String getWhereClause() { return whereClause; }
+
+        /**
+         * Sets the WHERE clause
+         * @param whereClause The WHERE clause to set
+         */
+        public void setWhereClause(String whereClause) { this.whereClause = whereClause; }
+
+        /**
+         * Gets the sort column
+         * @return The sort column
+         */
+        public String getSortBy() { return sortBy; }
+
+        /**
+         * Sets the sort column
+         * @param sortBy The sort column to set
+         */
+        public void setSortBy(String sortBy) { this.sortBy = sortBy; }
+
+        /**
+         * Gets the minimum page query rate of this export
+         * @return The minimum pages per second, or null to use the global one
+         */
+        public Double getMinPagesPerSecond() { return minPagesPerSecond; }
+
+        /**
+         * Sets the minimum page query rate of this export
+         * @param minPagesPerSecond The minimum pages per second to set
+         */
+        public void setMinPagesPerSecond(Double minPagesPerSecond) { this.minPagesPerSecond = minPagesPerSecond; }
+
+        /**
+         * Gets the maximum page query rate of this export
+         * @return The maximum pages per second, or null to use the global one
+         */
+        public Double getMaxPagesPerSecond() { return maxPagesPerSecond; }
+
+        /**
+         * Sets the maximum page query rate of this export
+         * @param maxPagesPerSecond The maximum pages per second to set
+         */
+        public void setMaxPagesPerSecond(Double maxPagesPerSecond) { this.maxPagesPerSecond = maxPagesPerSecond; }
     }
 }
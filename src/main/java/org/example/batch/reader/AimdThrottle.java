@@ -0,0 +1,149 @@
+package org.example.batch.reader;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces page queries using additive-increase / multiplicative-decrease (AIMD).
+ * Each observed query latency is smoothed and compared with a baseline, the 10th percentile
+ * of the last {@code baselineWindow} page latencies. While the smoothed latency stays within
+ * {@code latencyTolerance} times the baseline the rate grows by {@code additiveIncrease} pages
+ * per second; once it exceeds that, the rate is multiplied by {@code multiplicativeDecrease}.
+ * A few unusually fast pages (cache hits) do not lower the percentile, and congestion
+ * only raises it once it has lasted for most of the window, at which point the new query
+ * cost is accepted as normal and the rate ramps up again.
+ */
+public class AimdThrottle {
+
+    private static final double LATENCY_SMOOTHING = 0.3;
+    private static final double BASELINE_PERCENTILE = 0.1;
+
+    private final double minRate;
+    private final double maxRate;
+    private final double additiveIncrease;
+    private final double multiplicativeDecrease;
+    private final double latencyTolerance;
+    private final double[] recentLatencies;
+
+    private double rate;
+    private double smoothedLatencyMillis = Double.NaN;
+    private double baselineLatencyMillis = Double.NaN;
+    private int nextLatency;
+    private int latencyCount;
+    private long nextPermitNanos;
+    private long backoffs;
+
+    /**
+     * Creates a new throttle.
+     *
+     * @param initialRate Pages per second allowed before any latency is observed
+     * @param minRate Lowest pages per second the throttle backs off to
+     * @param maxRate Highest pages per second the throttle ramps up to
+     * @param additiveIncrease Pages per second added after each healthy query
+     * @param multiplicativeDecrease Factor applied to the rate after a slow query, between 0 and 1
+     * @param latencyTolerance How many times the baseline latency counts as healthy, at least 1
+     * @param baselineWindow Number of recent page latencies the baseline is taken from, at least 1
+     */
+    public AimdThrottle(double initialRate, double minRate, double maxRate, double additiveIncrease,
+                        double multiplicativeDecrease, double latencyTolerance, int baselineWindow) {
+        if (minRate <= 0 || maxRate < minRate) {
+            throw new IllegalArgumentException("Invalid throttle rate limits: min=" + minRate + ", max=" + maxRate);
+        }
+        if (multiplicativeDecrease <= 0 || multiplicativeDecrease >= 1) {
+            throw new IllegalArgumentException("Multiplicative decrease must be between 0 and 1: " + multiplicativeDecrease);
+        }
+        if (latencyTolerance < 1) {
+            throw new IllegalArgumentException("Latency tolerance must be at least 1: " + latencyTolerance);
+        }
+        if (baselineWindow < 1) {
+            throw new IllegalArgumentException("Baseline window must be at least 1 page: " + baselineWindow);
+        }
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.additiveIncrease = additiveIncrease;
+        this.multiplicativeDecrease = multiplicativeDecrease;
+        this.latencyTolerance = latencyTolerance;
+        this.recentLatencies = new double[baselineWindow];
+        this.rate = Math.max(minRate, Math.min(maxRate, initialRate));
+    }
+
+    /**
+     * Blocks until the current rate allows the next query.
+     *
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        long now = System.nanoTime();
+        long wait;
+        synchronized (this) {
+            long permit = Math.max(now, nextPermitNanos);
+            nextPermitNanos = permit + (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            wait = permit - now;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * Records the latency of a query and adjusts the rate.
+     *
+     * @param latencyNanos Time the query took
+     */
+    public synchronized void record(long latencyNanos) {
+        double latency = latencyNanos / 1_000_000.0;
+        recentLatencies[nextLatency] = latency;
+        nextLatency = (nextLatency + 1) % recentLatencies.length;
+        latencyCount = Math.min(latencyCount + 1, recentLatencies.length);
+        baselineLatencyMillis = baseline();
+        if (Double.isNaN(smoothedLatencyMillis)) {
+            smoothedLatencyMillis = latency;
+            return;
+        }
+        smoothedLatencyMillis += LATENCY_SMOOTHING * (latency - smoothedLatencyMillis);
+
+        if (smoothedLatencyMillis > baselineLatencyMillis * latencyTolerance) {
+            rate = Math.max(minRate, rate * multiplicativeDecrease);
+            backoffs++;
+        } else {
+            rate = Math.min(maxRate, rate + additiveIncrease);
+        }
+    }
+
+    /**
+     * Returns the low percentile of the latencies in the window; the window is small, so it is simply sorted.
+     */
+    private double baseline() {
+        double[] window = Arrays.copyOf(recentLatencies, latencyCount);
+        Arrays.sort(window);
+        return window[(int) (latencyCount * BASELINE_PERCENTILE)];
+    }
+
+    /**
+     * Returns the pages per second currently allowed.
+     */
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    /**
+     * Returns the smoothed query latency in milliseconds, or NaN before the first query.
+     */
+    public synchronized double getSmoothedLatencyMillis() {
+        return smoothedLatencyMillis;
+    }
+
+    /**
+     * Returns the baseline query latency in milliseconds, or NaN before the first query.
+     */
+    public synchronized double getBaselineLatencyMillis() {
+        return baselineLatencyMillis;
+    }
+
+    /**
+     * Returns how many times the rate was cut because of slow queries.
+     */
+    public synchronized long getBackoffs() {
+        return backoffs;
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.batch.reader;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JdbcPagingItemReader that paces its page queries with an {@link AimdThrottle}.
+ * Every page query is timed and fed back to the throttle, so the reader slows down
+ * while the database is under pressure and speeds up again once it recovers.
+ * The throttle state is published as gauges on the given meter registry while the
+ * reader is open, tagged with the job and step execution ids so concurrent exports
+ * report separately, and the current rate is saved in the execution context.
+ *
+ * @param <T> The type of item being read
+ */
+public class ThrottledJdbcPagingItemReader<T> extends JdbcPagingItemReader<T> implements StepExecutionListener {
+
+    private static final String RATE_KEY = "throttle.rate";
+
+    private final AimdThrottle throttle;
+    private final MeterRegistry meterRegistry;
+    private final List<Meter> meters = new ArrayList<>();
+    private Tags tags = Tags.empty();
+
+    /**
+     * Creates a new reader paced by the given throttle.
+     *
+     * @param throttle The throttle controlling the page query rate
+     * @param meterRegistry Registry the throttle gauges are published to
+     */
+    public ThrottledJdbcPagingItemReader(AimdThrottle throttle, MeterRegistry meterRegistry) {
+        this.throttle = throttle;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        tags = Tags.of(
+                "job.execution.id", String.valueOf(stepExecution.getJobExecutionId()),
+                "step.execution.id", String.valueOf(stepExecution.getId()));
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        return null;
+    }
+
+    @Override
+    protected void doReadPage() {
+        try {
+            throttle.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the read throttle", e);
+        }
+        long start = System.nanoTime();
+        super.doReadPage();
+        throttle.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        Tags meterTags = tags.and("reader", getName());
+        meters.add(Gauge.builder("batch.export.throttle.rate", throttle, AimdThrottle::getRate)
+                .description("Page queries per second currently allowed")
+                .tags(meterTags)
+                .register(meterRegistry));
+        meters.add(Gauge.builder("batch.export.throttle.latency", throttle, AimdThrottle::getSmoothedLatencyMillis)
+                .description("Smoothed page query latency in milliseconds")
+                .tags(meterTags)
+                .register(meterRegistry));
+        meters.add(Gauge.builder("batch.export.throttle.baseline", throttle, AimdThrottle::getBaselineLatencyMillis)
+                .description("Baseline page query latency in milliseconds")
+                .tags(meterTags)
+                .register(meterRegistry));
+        meters.add(Gauge.builder("batch.export.throttle.backoffs", throttle, AimdThrottle::getBackoffs)
+                .description("Number of times the page query rate was cut")
+                .tags(meterTags)
+                .register(meterRegistry));
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        executionContext.putDouble(getExecutionContextKey(RATE_KEY), throttle.getRate());
+    }
+
+    @Override
+    public void close() {
+        meters.forEach(meterRegistry::remove);
+        meters.clear();
+        super.close();
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.batch.service;
+
+import org.example.batch.properties.BatchProperties;
+import org.example.model.User;
+import org.example.utils.UserRowMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers quick questions about an export without launching a batch job:
+ * the first rows a WHERE clause returns, and how many rows it matches.
+ * Every query runs with the configured statement timeout and row counts are cached briefly.
+ * The cache is keyed by caller-supplied WHERE clauses, so expired entries are pruned on
+ * insert and it never holds more than the configured number of entries.
+ */
+@Service
+public class ExportPreviewService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportPreviewService.class);
+
+    private static final String CATALOG_CARDINALITY_QUERY =
+            "SELECT CARD FROM SYSCAT.TABLES WHERE TABSCHEMA = COALESCE(?, CURRENT SCHEMA) AND TABNAME = ?";
+
+    private final DataSource dataSource;
+    private final BatchProperties props;
+
+    private final Map<String, RowCount> countCache = new ConcurrentHashMap<>();
+
+    public ExportPreviewService(DataSource dataSource, BatchProperties props) {
+        this.dataSource = dataSource;
+        this.props = props;
+    }
+
+    /**
+     * Result of a row count.
+     *
+     * @param count The number of rows
+     * @param estimated Whether the count comes from catalog statistics rather than a COUNT(*)
+     * @param source Where the count came from: "catalog" or "query"
+     * @param computedAt When the count was computed; older than now if it was served from the cache
+     */
+    public record RowCount(long count, boolean estimated, String source, Instant computedAt) {
+    }
+
+    /**
+     * Returns the number of rows a preview returns when no limit is given.
+     *
+     * @return The default preview limit
+     */
+    public int getDefaultLimit() {
+        return props.getPreview().getDefaultLimit();
+    }
+
+    /**
+     * Returns the first rows the export would produce for the given WHERE clause.
+     *
+     * @param whereClause The WHERE clause, or null/empty for the default one
+     * @param limit Maximum number of rows to return
+     * @return The rows, in export (id) order
+     * @throws IllegalArgumentException if the limit is outside 1 and the configured maximum
+     */
+    public List<User> preview(String whereClause, int limit) {
+        int maxLimit = props.getPreview().getMaxLimit();
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        JdbcTemplate jdbcTemplate = boundedTemplate();
+        jdbcTemplate.setMaxRows(limit);
+        jdbcTemplate.setFetchSize(limit);
+        // Bound the query on the server too, so the database can stop after the first rows
+        String sql = props.buildFullQuery(whereClause) + " ORDER BY id FETCH FIRST " + limit + " ROWS ONLY";
+        return jdbcTemplate.query(sql, new UserRowMapper());
+    }
+
+    /**
+     * Counts the rows the export would produce for the given WHERE clause.
+     * When the export is unfiltered (no WHERE clause and no default one configured) and
+     * no exact count is requested, the table cardinality from the DB2 catalog statistics
+     * is returned as an estimate; otherwise, or if no statistics are available, a COUNT(*) is run.
+     *
+     * @param whereClause The WHERE clause, or null/empty for the default one
+     * @param exact Whether to always run a COUNT(*)
+     * @return The row count
+     */
+    public RowCount count(String whereClause, boolean exact) {
+        String effectiveWhere = props.buildWhereClause(whereClause);
+        boolean useCatalog = effectiveWhere.isEmpty() && !exact;
+        String cacheKey = (useCatalog ? "catalog|" : "query|") + effectiveWhere;
+
+        RowCount cached = countCache.get(cacheKey);
+        Instant now = Instant.now();
+        if (cached != null && !isExpired(cached, now)) {
+            return cached;
+        }
+
+        RowCount count = useCatalog ? catalogCount() : null;
+        if (count == null) {
+            Long rows = boundedTemplate().queryForObject(
+                    ("SELECT COUNT(*) " + props.extractFromClause() + " " + effectiveWhere).trim(), Long.class);
+            count = new RowCount(rows != null ? rows : 0L, false, "query", now);
+        }
+        cache(cacheKey, count, now);
+        return count;
+    }
+
+    /**
+     * Caches a row count after dropping expired entries; the count is not cached if the cache is still full.
+     */
+    private void cache(String cacheKey, RowCount count, Instant now) {
+        countCache.values().removeIf(entry -> isExpired(entry, now));
+        if (countCache.size() < props.getPreview().getCountCacheMaxEntries() || countCache.containsKey(cacheKey)) {
+            countCache.put(cacheKey, count);
+        }
+    }
+
+    private boolean isExpired(RowCount count, Instant now) {
+        return !count.computedAt().plus(props.getPreview().getCountCacheTtl()).isAfter(now);
+    }
+
+    /**
+     * Reads the table cardinality from the DB2 catalog.
+     *
+     * @return The estimated count, or null if the FROM clause is not a single table
+     *         or no statistics are available
+     */
+    private RowCount catalogCount() {
+        String table = props.extractFromClause().substring("FROM ".length()).trim();
+        if (!table.matches("[A-Za-z0-9_$#@]+(\\.[A-Za-z0-9_$#@]+)?")) {
+            return null;
+        }
+        int dot = table.indexOf('.');
+        String schema = dot > 0 ? table.substring(0, dot).toUpperCase() : null;
+        String name = (dot > 0 ? table.substring(dot + 1) : table).toUpperCase();
+
+        try {
+            List<Long> cards = boundedTemplate().queryForList(CATALOG_CARDINALITY_QUERY, Long.class, schema, name);
+            // CARD is -1 when statistics have never been collected
+            if (cards.isEmpty() || cards.get(0) == null || cards.get(0) < 0) {
+                return null;
+            }
+            return new RowCount(cards.get(0), true, "catalog", Instant.now());
+        } catch (DataAccessException e) {
+            log.debug("Catalog statistics unavailable for {}, falling back to COUNT(*)", table, e);
+            return null;
+        }
+    }
+
+    private JdbcTemplate boundedTemplate() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setQueryTimeout((int) Math.max(1, props.getPreview().getQueryTimeout().toSeconds()));
+        return jdbcTemplate;
+    }
+}
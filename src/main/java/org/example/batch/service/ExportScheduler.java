@@ -0,0 +1,174 @@
+package org.example.batch.service;
+
+import org.example.batch.properties.BatchProperties;
+import org.example.batch.sort.SortKey;
+import org.example.batch.writer.ExportFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the exports defined under {@code batch.scheduling.exports} on their cron schedules.
+ * A trigger is coalesced (skipped) while the previous run of the same definition is still
+ * queued or running, and all runs share one bounded executor so simultaneous triggers are
+ * run a few at a time instead of all hitting the database at once.
+ * After a successful run every output file is published to a stable
+ * {@code <name>-latest} path with an atomic rename, so readers never see a partial file.
+ */
+@Component
+public class ExportScheduler implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportScheduler.class);
+
+    private final JobStarter jobStarter;
+    private final BatchProperties props;
+
+    private final Map<String, AtomicBoolean> running = new ConcurrentHashMap<>();
+
+    private ThreadPoolTaskScheduler scheduler;
+    private ThreadPoolTaskExecutor executor;
+
+    public ExportScheduler(JobStarter jobStarter, BatchProperties props) {
+        this.jobStarter = jobStarter;
+        this.props = props;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<BatchProperties.ScheduledExport> exports = props.getScheduling().getExports();
+        if (exports == null || exports.isEmpty()) {
+            return;
+        }
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(props.getScheduling().getMaxConcurrentRuns());
+        executor.setMaxPoolSize(props.getScheduling().getMaxConcurrentRuns());
+        executor.setQueueCapacity(props.getScheduling().getQueueCapacity());
+        executor.setThreadNamePrefix("scheduled-export-");
+        executor.initialize();
+
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("export-cron-");
+        scheduler.initialize();
+
+        for (BatchProperties.ScheduledExport export : exports) {
+            if (export.getName() == null || export.getName().isBlank()) {
+                throw new IllegalStateException("Scheduled export requires a name");
+            }
+            if (running.putIfAbsent(export.getName(), new AtomicBoolean()) != null) {
+                throw new IllegalStateException("Duplicate scheduled export name: " + export.getName());
+            }
+            // Fail at startup rather than on every trigger
+            SortKey.fromParameter(export.getSortBy());
+            props.getThrottle().withLimits(export.getMinPagesPerSecond(), export.getMaxPagesPerSecond());
+            CronTrigger trigger = export.getZone() == null || export.getZone().isBlank()
+                    ? new CronTrigger(export.getCron())
+                    : new CronTrigger(export.getCron(), ZoneId.of(export.getZone()));
+            scheduler.schedule(() -> trigger(export), trigger);
+            log.info("Scheduled export '{}' with cron '{}'", export.getName(), export.getCron());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Hands a triggered export to the shared executor unless its previous run is still pending.
+     */
+    private void trigger(BatchProperties.ScheduledExport export) {
+        AtomicBoolean flag = running.get(export.getName());
+        if (!flag.compareAndSet(false, true)) {
+            log.warn("Scheduled export '{}' is still running, skipping this trigger", export.getName());
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(export);
+                } finally {
+                    flag.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            flag.set(false);
+            log.warn("Too many scheduled exports queued, skipping this trigger of '{}'", export.getName());
+        }
+    }
+
+    private void run(BatchProperties.ScheduledExport export) {
+        String ts = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
+        String filename = export.getName() + "-" + props.getOutput().getFilenamePattern().replace("{timestamp}", ts);
+        try {
+            JobExecution execution = jobStarter.launchJob(export.getWhereClause(), filename, export.getSortBy(),
+                    export.getMinPagesPerSecond(), export.getMaxPagesPerSecond());
+            // Errors closing a step's streams are recorded after its status was saved as COMPLETED
+            if (execution.getStatus() != BatchStatus.COMPLETED || !execution.getAllFailureExceptions().isEmpty()) {
+                log.warn("Scheduled export '{}' finished with status {} and {} failure(s), "
+                                + "keeping the previous latest output",
+                        export.getName(), execution.getStatus(), execution.getAllFailureExceptions().size());
+                return;
+            }
+            publishLatest(export.getName(), filename);
+        } catch (Exception e) {
+            log.error("Scheduled export '{}' failed", export.getName(), e);
+        }
+    }
+
+    /**
+     * Publishes every output file of a run to its stable "latest" path.
+     * Each file is first copied to a temporary file in the same directory and then renamed
+     * over the latest path, which replaces it atomically. A copy rather than a hard link,
+     * because the writers rewrite existing files in place: a later export reusing the run's
+     * filename would otherwise truncate the published file under its readers.
+     */
+    private void publishLatest(String name, String filename) throws IOException {
+        Path directory = Path.of(props.getOutput().resolveDirectory());
+        int dot = filename.lastIndexOf('.');
+        String latestFilename = name + "-latest" + (dot > 0 ? filename.substring(dot) : "");
+
+        List<ExportFormat> formats = props.getOutput().getFormats();
+        if (formats == null || formats.isEmpty()) {
+            formats = List.of(ExportFormat.TSV);
+        }
+        for (ExportFormat format : new LinkedHashSet<>(formats)) {
+            Path source = directory.resolve(format.resolveFilename(filename));
+            Path latest = directory.resolve(format.resolveFilename(latestFilename));
+            Path temp = directory.resolve("." + latest.getFileName() + "." + System.nanoTime() + ".tmp");
+            try {
+                Files.copy(source, temp);
+                Files.move(temp, latest, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            log.info("Published {} as {}", source, latest);
+        }
+    }
+}
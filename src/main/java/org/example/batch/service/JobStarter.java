@@ -1,5 +1,7 @@
 package org.example.batch.service;
 
+import org.example.batch.properties.BatchProperties;
+import org.example.batch.sort.SortKey;
 import org.example.config.BatchConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,17 +23,20 @@ public class JobStarter implements CommandLineRunner {
     private final BatchConfig batchConfig;
     private final JobRepository jobRepository;
     private final BatchConfig.JobCompletionNotificationListener listener;
+    private final BatchProperties props;
 
     @Autowired
     public JobStarter(
             JobLauncher jobLauncher, 
             BatchConfig batchConfig,
             JobRepository jobRepository,
-            BatchConfig.JobCompletionNotificationListener listener) {
+            BatchConfig.JobCompletionNotificationListener listener,
+            BatchProperties props) {
         this.jobLauncher = jobLauncher;
         this.batchConfig = batchConfig;
         this.jobRepository = jobRepository;
         this.listener = listener;
+        this.props = props;
     }
 
     @Override
@@ -42,26 +47,42 @@ public class JobStarter implements CommandLineRunner {
     }
 
     /**
-     * Launches a job with the provided parameters
+     * Launches a job with the provided parameters.
+     * The page query rate limits override the configured throttle for this job only; setting
+     * either one throttles the job even if throttling is disabled globally.
+     *
+     * @throws IllegalArgumentException If the sort column or the page query rate limits are invalid
      */
-    public JobExecution launchJob(String whereClause, String filename) {
+    public JobExecution launchJob(String whereClause, String filename, String sortBy,
+                                  Double minPagesPerSecond, Double maxPagesPerSecond) {
+        // Validate the request before launching, so bad parameters are not reported as job failures
+        SortKey.fromParameter(sortBy);
+        BatchProperties.Throttle throttle = props.getThrottle().withLimits(minPagesPerSecond, maxPagesPerSecond);
         try {
             // Create a unique job parameter to allow multiple runs
-            JobParameters jobParameters = new JobParametersBuilder()
+            JobParametersBuilder parametersBuilder = new JobParametersBuilder()
                     .addDate("run.id", new Date()) // ensures uniqueness
                     .addString("whereClause", whereClause != null ? whereClause : "")
                     .addString("filename", filename != null ? filename : "")
-                    .toJobParameters();
+                    .addString("sortBy", sortBy != null ? sortBy : "");
+            if (throttle.isEnabled()) {
+                parametersBuilder
+                        .addDouble("minPagesPerSecond", throttle.getMinPagesPerSecond())
+                        .addDouble("maxPagesPerSecond", throttle.getMaxPagesPerSecond());
+            }
+            JobParameters jobParameters = parametersBuilder.toJobParameters();
 
             // Create job with the custom parameters
             Job exportJob = batchConfig.exportJob(
                     jobRepository,
                     listener, 
                     whereClause, 
-                    filename);
+                    filename,
+                    sortBy,
+                    throttle);
 
-            log.info("Launching export job with whereClause: {}, filename: {}", 
-                    whereClause, filename);
+            log.info("Launching export job with whereClause: {}, filename: {}, sortBy: {}", 
+                    whereClause, filename, sortBy);
             JobExecution execution = jobLauncher.run(exportJob, jobParameters);
             log.info("Job launched with status: {}", execution.getStatus());
             
@@ -0,0 +1,239 @@
+package org.example.batch.sort;
+
+import org.example.model.User;
+import org.example.utils.UserBinaryCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sorted runs produced by one sorted export, shared by the step that spills them
+ * and the step that merges them.
+ * Each run file holds a long record count followed by users encoded with
+ * {@link UserBinaryCodec}, in sort order. The run directory is deleted when the job ends.
+ */
+public class ExternalSortRuns implements JobExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ExternalSortRuns.class);
+
+    private final Path parentDirectory;
+    private final SortKey sortKey;
+
+    private final List<Path> runs = new ArrayList<>();
+    private Path directory;
+    private int nextRunId;
+
+    /**
+     * Creates an empty set of runs.
+     *
+     * @param parentDirectory Directory under which the run directory is created
+     * @param sortKey The key the runs are sorted by
+     */
+    public ExternalSortRuns(Path parentDirectory, SortKey sortKey) {
+        this.parentDirectory = parentDirectory;
+        this.sortKey = sortKey;
+    }
+
+    /**
+     * Returns the key the runs are sorted by.
+     *
+     * @return The sort key
+     */
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    /**
+     * Returns the run files written so far.
+     *
+     * @return The run files, in creation order
+     */
+    public List<Path> getRuns() {
+        return Collections.unmodifiableList(runs);
+    }
+
+    /**
+     * Sorts the users and writes them as a new run.
+     *
+     * @param users The users to sort and spill; the list is sorted in place
+     * @throws IOException If the run cannot be written
+     */
+    public void spill(List<User> users) throws IOException {
+        users.sort(sortKey.getComparator());
+        Path run = newRunFile();
+        try (DataOutputStream out = openRun(run)) {
+            out.writeLong(users.size());
+            for (User user : users) {
+                UserBinaryCodec.write(out, user);
+            }
+        }
+        runs.add(run);
+    }
+
+    /**
+     * Merges runs into a single new run until at most {@code fanIn} runs remain,
+     * so the final merge never holds more than {@code fanIn} files open.
+     *
+     * @param fanIn Maximum number of runs merged at once
+     * @throws IOException If a run cannot be read or written
+     */
+    public void reduceTo(int fanIn) throws IOException {
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("Merge fan-in must be at least 2: " + fanIn);
+        }
+        while (runs.size() > fanIn) {
+            List<Path> group = new ArrayList<>(runs.subList(0, fanIn));
+            Path merged = newRunFile();
+            long count = 0;
+            try (MergeCursor cursor = new MergeCursor(group, sortKey.getComparator());
+                 DataOutputStream out = openRun(merged)) {
+                out.writeLong(cursor.size());
+                for (User user = cursor.next(); user != null; user = cursor.next()) {
+                    UserBinaryCodec.write(out, user);
+                    count++;
+                }
+            }
+            log.debug("Merged {} runs into {} ({} users)", group.size(), merged.getFileName(), count);
+            runs.removeAll(group);
+            runs.add(merged);
+            for (Path run : group) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Opens a cursor over all runs, returning users in sort order.
+     *
+     * @return The merge cursor
+     * @throws IOException If a run cannot be read
+     */
+    public MergeCursor openMerge() throws IOException {
+        return new MergeCursor(runs, sortKey.getComparator());
+    }
+
+    /**
+     * Deletes the run directory and every run in it.
+     *
+     * @throws IOException If the directory cannot be deleted
+     */
+    public void delete() throws IOException {
+        runs.clear();
+        if (directory != null) {
+            FileSystemUtils.deleteRecursively(directory);
+            directory = null;
+        }
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        try {
+            delete();
+        } catch (IOException e) {
+            log.warn("Failed to delete sort runs in {}", directory, e);
+        }
+    }
+
+    private Path newRunFile() throws IOException {
+        if (directory == null) {
+            Files.createDirectories(parentDirectory);
+            directory = Files.createTempDirectory(parentDirectory, "sort-");
+        }
+        return directory.resolve("run-" + nextRunId++ + ".bin");
+    }
+
+    private static DataOutputStream openRun(Path run) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), 64 * 1024));
+    }
+
+    /**
+     * K-way merge over several runs using a priority queue of run cursors.
+     */
+    public static final class MergeCursor implements AutoCloseable {
+
+        private final List<RunCursor> cursors = new ArrayList<>();
+        private final PriorityQueue<RunCursor> queue;
+        private long size;
+
+        private MergeCursor(Collection<Path> runs, Comparator<User> comparator) throws IOException {
+            this.queue = new PriorityQueue<>(Math.max(1, runs.size()),
+                    (a, b) -> comparator.compare(a.current(), b.current()));
+            try {
+                for (Path run : runs) {
+                    RunCursor cursor = new RunCursor(run);
+                    cursors.add(cursor);
+                    size += cursor.remaining() + (cursor.current() != null ? 1 : 0);
+                    if (cursor.current() != null) {
+                        queue.add(cursor);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Returns the total number of users across the merged runs.
+         *
+         * @return The user count
+         */
+        public long size() {
+            return size;
+        }
+
+        /**
+         * Returns the next user in sort order.
+         *
+         * @return The next user, or null once every run is exhausted
+         * @throws IOException If a run cannot be read
+         */
+        public User next() throws IOException {
+            RunCursor cursor = queue.poll();
+            if (cursor == null) {
+                return null;
+            }
+            User user = cursor.current();
+            cursor.advance();
+            if (cursor.current() != null) {
+                queue.add(cursor);
+            }
+            return user;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (RunCursor cursor : cursors) {
+                try {
+                    cursor.close();
+                } catch (IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            cursors.clear();
+            queue.clear();
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.batch.sort;
+
+import org.example.model.User;
+import org.example.utils.UserBinaryCodec;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Sequential reader over a sorted run file, holding the current user.
+ */
+final class RunCursor implements Closeable {
+
+    private final DataInputStream in;
+    private long remaining;
+    private User current;
+
+    /**
+     * Opens a run file positioned on its first user.
+     *
+     * @param run The run file
+     * @throws IOException If the run cannot be read
+     */
+    RunCursor(Path run) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), 64 * 1024));
+        this.remaining = in.readLong();
+        advance();
+    }
+
+    /**
+     * Returns the current user, or null once the run is exhausted.
+     */
+    User current() {
+        return current;
+    }
+
+    /**
+     * Returns the number of users left in the run after the current one.
+     */
+    long remaining() {
+        return remaining;
+    }
+
+    /**
+     * Moves to the next user in the run.
+     *
+     * @throws IOException If the run cannot be read
+     */
+    void advance() throws IOException {
+        if (remaining == 0) {
+            current = null;
+            return;
+        }
+        current = UserBinaryCodec.read(in);
+        remaining--;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.batch.sort;
+
+import org.example.model.User;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import java.io.IOException;
+
+/**
+ * Merges the sorted runs of an export into the final output.
+ * Opening the tasklet reduces the runs to the merge fan-in; every execution then
+ * writes the next chunk of the k-way merge, so each chunk is committed in its own
+ * transaction just like in a chunk-oriented step.
+ *
+ * <p>The tasklet must be registered as a stream of its step, as must the delegate writer.
+ */
+public class RunMergeTasklet implements Tasklet, ItemStream {
+
+    private final ExternalSortRuns runs;
+    private final ItemWriter<User> delegate;
+    private final int chunkSize;
+    private final int fanIn;
+
+    private ExternalSortRuns.MergeCursor cursor;
+
+    /**
+     * Creates a new tasklet.
+     *
+     * @param runs The runs to merge
+     * @param delegate The writer receiving users in sort order
+     * @param chunkSize Number of users written per transaction
+     * @param fanIn Maximum number of runs merged at once
+     */
+    public RunMergeTasklet(ExternalSortRuns runs, ItemWriter<User> delegate, int chunkSize, int fanIn) {
+        this.runs = runs;
+        this.delegate = delegate;
+        this.chunkSize = chunkSize;
+        this.fanIn = fanIn;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        try {
+            runs.reduceTo(fanIn);
+            cursor = runs.openMerge();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to prepare sort runs for merging", e);
+        }
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        Chunk<User> chunk = new Chunk<>();
+        for (User user = cursor.next(); user != null; user = cursor.next()) {
+            chunk.add(user);
+            if (chunk.size() == chunkSize) {
+                break;
+            }
+        }
+        if (chunk.isEmpty()) {
+            return RepeatStatus.FINISHED;
+        }
+
+        delegate.write(chunk);
+        contribution.incrementWriteCount(chunk.size());
+        return RepeatStatus.CONTINUABLE;
+    }
+
+    @Override
+    public void close() {
+        if (cursor == null) {
+            return;
+        }
+        try {
+            cursor.close();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to close sort runs", e);
+        } finally {
+            cursor = null;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.batch.sort;
+
+import org.example.model.User;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Columns an export can be ordered by.
+ * Nulls sort last, as in an ascending DB2 ORDER BY, and ties are broken by id
+ * so the output order is deterministic.
+ */
+public enum SortKey {
+
+    ID(User::getId),
+    NAME(User::getName),
+    EMAIL(User::getEmail);
+
+    private final Comparator<User> comparator;
+
+    <T extends Comparable<? super T>> SortKey(Function<User, T> column) {
+        Comparator<User> byColumn = Comparator.comparing(column, Comparator.nullsLast(Comparator.naturalOrder()));
+        this.comparator = byColumn.thenComparing(User::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    /**
+     * Returns the comparator ordering users by this key.
+     *
+     * @return The comparator
+     */
+    public Comparator<User> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Resolves a sort key from a request parameter.
+     *
+     * @param value The column name, case-insensitive
+     * @return The sort key, or null if no sort was requested
+     * @throws IllegalArgumentException if the column cannot be sorted on
+     */
+    public static SortKey fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported sort column: " + value);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.batch.sort;
+
+import org.example.model.User;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemStreamWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects users into fixed-size in-memory runs and spills each run, sorted,
+ * to {@link ExternalSortRuns}. The last partial run is spilled in
+ * {@link #afterStep(StepExecution)}, before the step status is saved, and only when the
+ * step completed; if that spill fails the step is marked FAILED so the merge step never
+ * runs on incomplete runs. The writer must be registered as a step listener for this,
+ * which the step builders do automatically for writers passed to {@code writer(...)}.
+ * At most {@code runSize} users are held on the heap at any time.
+ */
+public class SortedRunItemWriter implements ItemStreamWriter<User>, StepExecutionListener {
+
+    private final ExternalSortRuns runs;
+    private final int runSize;
+
+    private final List<User> buffer = new ArrayList<>();
+
+    /**
+     * Creates a new writer.
+     *
+     * @param runs The runs to spill to
+     * @param runSize Maximum number of users sorted in memory per run
+     */
+    public SortedRunItemWriter(ExternalSortRuns runs, int runSize) {
+        if (runSize <= 0) {
+            throw new IllegalArgumentException("Run size must be positive: " + runSize);
+        }
+        this.runs = runs;
+        this.runSize = runSize;
+    }
+
+    @Override
+    public void write(Chunk<? extends User> chunk) throws Exception {
+        for (User user : chunk) {
+            buffer.add(user);
+            if (buffer.size() == runSize) {
+                spill();
+            }
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            return null;
+        }
+        try {
+            spill();
+            return null;
+        } catch (IOException e) {
+            stepExecution.setStatus(BatchStatus.FAILED);
+            stepExecution.addFailureException(e);
+            return ExitStatus.FAILED.addExitDescription(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        buffer.clear();
+    }
+
+    private void spill() throws IOException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        runs.spill(buffer);
+        buffer.clear();
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.batch.writer;
+
+import org.example.model.User;
+import org.example.utils.UserBinaryCodec;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes User objects to a file in the compact binary format.
+ * The file starts with a {@link #MAGIC} header followed by one record per user,
+ * encoded with {@link UserBinaryCodec}.
+ * The current file position is saved in the execution context so a restarted
+ * step truncates anything written after the last commit and appends from there.
+ */
+public class BinaryUserItemWriter implements ItemStreamWriter<User> {
+
+    /** Header written at the start of every binary export file */
+    public static final int MAGIC = 0x5542494E; // "UBIN"
+
+    private static final String POSITION_KEY = "position";
+
+    private final String name;
+    private final File file;
+
+    private FileChannel channel;
+    private DataOutputStream out;
+
+    /**
+     * Creates a new writer for the given file.
+     *
+     * @param name Name used to prefix the keys saved in the execution context
+     * @param file The file to write to
+     */
+    public BinaryUserItemWriter(String name, File file) {
+        this.name = name;
+        this.file = file;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        String positionKey = executionContextKey(POSITION_KEY);
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            boolean restart = executionContext.containsKey(positionKey);
+            long position = restart ? executionContext.getLong(positionKey) : 0L;
+            channel.truncate(position);
+            channel.position(position);
+            out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            if (!restart) {
+                out.writeInt(MAGIC);
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open binary output file: " + file, e);
+        }
+    }
+
+    @Override
+    public void write(Chunk<? extends User> chunk) throws Exception {
+        for (User user : chunk) {
+            UserBinaryCodec.write(out, user);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.flush();
+            executionContext.putLong(executionContextKey(POSITION_KEY), channel.position());
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to flush binary output file: " + file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to close binary output file: " + file, e);
+        } finally {
+            out = null;
+            channel = null;
+        }
+    }
+
+    private String executionContextKey(String key) {
+        return name + "." + key;
+    }
+}
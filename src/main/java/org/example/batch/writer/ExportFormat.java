@@ -0,0 +1,46 @@
+package org.example.batch.writer;
+
+import org.example.batch.columnar.ColumnarUserItemWriter;
+
+/**
+ * Output formats supported by the export job.
+ * Each format maps to its own file, derived from the base export filename.
+ */
+public enum ExportFormat {
+
+    /** Tab separated text, as written by the FlatFileItemWriter */
+    TSV(null),
+
+    /** One JSON object per line */
+    JSONL("jsonl"),
+
+    /** Compact length-prefixed binary records, see {@link BinaryUserItemWriter} */
+    BINARY("bin"),
+
+    /** Columnar row groups with dictionary and delta encoding, see {@link ColumnarUserItemWriter} */
+    COLUMNAR("ucol");
+
+    /** File extension used for this format, or null to keep the base filename as-is */
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Derives the output filename for this format from the base export filename.
+     * TSV keeps the base filename unchanged so existing exports are not renamed;
+     * every other format replaces the extension with its own.
+     *
+     * @param baseFilename The filename resolved for the export
+     * @return The filename to use for this format
+     */
+    public String resolveFilename(String baseFilename) {
+        if (extension == null) {
+            return baseFilename;
+        }
+        int dot = baseFilename.lastIndexOf('.');
+        String stem = dot > 0 ? baseFilename.substring(0, dot) : baseFilename;
+        return stem + "." + extension;
+    }
+}
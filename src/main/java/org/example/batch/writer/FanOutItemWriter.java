@@ -0,0 +1,138 @@
+package org.example.batch.writer;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Writes every chunk to several delegate writers in parallel.
+ * Each delegate gets its own single-threaded executor, so a chunk read once from
+ * the database is formatted and written to all outputs concurrently.
+ * {@link #write(Chunk)} returns only once every delegate has written the chunk,
+ * so the step commits a chunk only after all outputs have it.
+ * Step listener callbacks are forwarded to delegates that are step listeners themselves,
+ * and the exit statuses they return are combined, so a delegate can still fail the step.
+ *
+ * @param <T> The type of item being written
+ */
+public class FanOutItemWriter<T> implements ItemStreamWriter<T>, StepExecutionListener {
+
+    private final List<ItemStreamWriter<? super T>> delegates;
+
+    private final List<ExecutorService> executors = new ArrayList<>();
+
+    /**
+     * Creates a new fan-out writer.
+     *
+     * @param delegates The writers every chunk is written to
+     */
+    public FanOutItemWriter(List<ItemStreamWriter<? super T>> delegates) {
+        if (delegates == null || delegates.isEmpty()) {
+            throw new IllegalArgumentException("At least one delegate writer is required");
+        }
+        this.delegates = List.copyOf(delegates);
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        for (ItemStreamWriter<? super T> delegate : delegates) {
+            if (delegate instanceof StepExecutionListener listener) {
+                listener.beforeStep(stepExecution);
+            }
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        ExitStatus exitStatus = null;
+        for (ItemStreamWriter<? super T> delegate : delegates) {
+            if (delegate instanceof StepExecutionListener listener) {
+                ExitStatus delegateStatus = listener.afterStep(stepExecution);
+                if (delegateStatus != null) {
+                    exitStatus = exitStatus == null ? delegateStatus : exitStatus.and(delegateStatus);
+                }
+            }
+        }
+        return exitStatus;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        for (int i = 0; i < delegates.size(); i++) {
+            delegates.get(i).open(executionContext);
+            executors.add(Executors.newSingleThreadExecutor(
+                    new CustomizableThreadFactory("fan-out-writer-" + i + "-")));
+        }
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(delegates.size());
+        for (int i = 0; i < delegates.size(); i++) {
+            ItemStreamWriter<? super T> delegate = delegates.get(i);
+            futures.add(executors.get(i).submit(() -> {
+                delegate.write(chunk);
+                return null;
+            }));
+        }
+
+        // Wait for every delegate, even after a failure, so no write is left running
+        Exception failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                Exception cause = e.getCause() instanceof Exception ex ? ex : e;
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        for (ItemStreamWriter<? super T> delegate : delegates) {
+            delegate.update(executionContext);
+        }
+    }
+
+    @Override
+    public void close() {
+        executors.forEach(ExecutorService::shutdown);
+        executors.clear();
+
+        ItemStreamException failure = null;
+        for (ItemStreamWriter<? super T> delegate : delegates) {
+            try {
+                delegate.close();
+            } catch (ItemStreamException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package org.example.batch.writer;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.WriteFailedException;
+import org.springframework.batch.item.file.transform.LineAggregator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Line-oriented file writer that formats chunks on a worker pool and appends them from a
+ * single thread, strictly in chunk order.
+ * Each chunk is turned into one byte buffer (lines, line separators and charset encoding)
+ * by a pool thread; the appender thread takes the pending buffers in submission order and
+ * writes them to the file. The bytes written are the same as a FlatFileItemWriter with the
+ * same line aggregator, header, charset and line separator would produce.
+ *
+ * <p>{@link #write(Chunk)} returns once the chunk is queued, so a chunk may be committed
+ * before it reaches the file. A failed step therefore cannot be resumed: the writer refuses
+ * to open from an execution context it has already written to. Errors from formatting or
+ * appending are reported by the next {@link #write(Chunk)}; the last chunks are drained in
+ * {@link #afterStep(StepExecution)}, before the step status is saved, and an error there
+ * marks the step FAILED. The writer must be registered as a step listener for this, which
+ * the step builders do automatically for writers passed to {@code writer(...)}; otherwise
+ * errors of the last chunks are only reported by {@link #close()}.
+ *
+ * @param <T> The type of item being written
+ */
+public class ParallelFormattingItemWriter<T> implements ItemStreamWriter<T>, StepExecutionListener {
+
+    private static final String STARTED_KEY = "started";
+
+    /** Marks the end of the queue for the appender thread */
+    private static final Future<byte[]> END = CompletableFuture.completedFuture(new byte[0]);
+
+    private final String name;
+    private final File file;
+    private final LineAggregator<T> lineAggregator;
+    private final String header;
+    private final Charset charset;
+    private final String lineSeparator;
+    private final int threads;
+    private final int maxChunksInFlight;
+
+    private FileChannel channel;
+    private ExecutorService formatters;
+    private BlockingQueue<Future<byte[]>> pending;
+    private Thread appender;
+    private volatile Throwable failure;
+
+    /**
+     * Creates a new writer.
+     *
+     * @param name Name used to prefix the keys saved in the execution context
+     * @param file The file to write to
+     * @param lineAggregator Turns each item into a line
+     * @param header Header line written when the file is opened, or null for none
+     * @param charset Charset the lines are encoded with
+     * @param lineSeparator Separator written after the header and every line
+     * @param threads Number of formatting threads
+     * @param maxChunksInFlight Number of chunks that may be formatted or waiting to be appended
+     *                          before {@link #write(Chunk)} blocks
+     */
+    public ParallelFormattingItemWriter(String name, File file, LineAggregator<T> lineAggregator, String header,
+                                        Charset charset, String lineSeparator, int threads, int maxChunksInFlight) {
+        if (threads <= 0 || maxChunksInFlight <= 0) {
+            throw new IllegalArgumentException("Threads and chunks in flight must be positive");
+        }
+        this.name = name;
+        this.file = file;
+        this.lineAggregator = lineAggregator;
+        this.header = header;
+        this.charset = charset;
+        this.lineSeparator = lineSeparator;
+        this.threads = threads;
+        this.maxChunksInFlight = maxChunksInFlight;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        if (executionContext.containsKey(executionContextKey(STARTED_KEY))) {
+            throw new ItemStreamException("Parallel formatted output cannot be resumed, restart the export from scratch: " + file);
+        }
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            if (header != null) {
+                writeFully(charset.encode(header + lineSeparator));
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open output file: " + file, e);
+        }
+
+        failure = null;
+        pending = new ArrayBlockingQueue<>(maxChunksInFlight);
+        formatters = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory(name + "-format-"));
+        appender = new CustomizableThreadFactory(name + "-append-").newThread(this::appendLoop);
+        appender.start();
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        checkFailure();
+        List<? extends T> items = List.copyOf(chunk.getItems());
+        pending.put(formatters.submit(() -> format(items)));
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        executionContext.putString(executionContextKey(STARTED_KEY), "true");
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        Throwable cause = drain();
+        if (cause == null || stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            return null;
+        }
+        // Reported through the step, so close() does not report it again
+        failure = null;
+        ItemStreamException e = new ItemStreamException("Failed to write output file: " + file, cause);
+        stepExecution.setStatus(BatchStatus.FAILED);
+        stepExecution.addFailureException(e);
+        return ExitStatus.FAILED.addExitDescription(e);
+    }
+
+    @Override
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+        drain();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            failure = failure != null ? failure : e;
+        } finally {
+            channel = null;
+        }
+        if (failure != null) {
+            throw new ItemStreamException("Failed to write output file: " + file, failure);
+        }
+    }
+
+    /**
+     * Waits until every queued chunk is appended and stops the worker threads.
+     *
+     * @return The first formatting or append error, or null if every chunk was written
+     */
+    private Throwable drain() {
+        if (appender == null) {
+            return failure;
+        }
+        try {
+            pending.put(END);
+            appender.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            appender.interrupt();
+            failure = failure != null ? failure : e;
+        } finally {
+            formatters.shutdownNow();
+            appender = null;
+        }
+        return failure;
+    }
+
+    private byte[] format(List<? extends T> items) {
+        StringBuilder lines = new StringBuilder(items.size() * 64);
+        for (T item : items) {
+            lines.append(lineAggregator.aggregate(item)).append(lineSeparator);
+        }
+        return lines.toString().getBytes(charset);
+    }
+
+    private void appendLoop() {
+        try {
+            for (Future<byte[]> next = pending.take(); next != END; next = pending.take()) {
+                // Keep draining after a failure so write() never blocks on a full queue
+                if (failure != null) {
+                    next.cancel(false);
+                    continue;
+                }
+                try {
+                    writeFully(ByteBuffer.wrap(next.get()));
+                } catch (ExecutionException e) {
+                    failure = e.getCause();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = failure != null ? failure : e;
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void checkFailure() {
+        Throwable cause = failure;
+        if (cause != null) {
+            throw new WriteFailedException("An earlier chunk could not be written to " + file, cause);
+        }
+    }
+
+    private String executionContextKey(String key) {
+        return name + "." + key;
+    }
+}
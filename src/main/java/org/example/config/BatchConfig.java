@@ -1,6 +1,19 @@
 package org.example.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.batch.columnar.ColumnarUserItemWriter;
+import org.example.batch.dedup.DeduplicatingItemProcessor;
 import org.example.batch.properties.BatchProperties;
+import org.example.batch.reader.AimdThrottle;
+import org.example.batch.reader.ThrottledJdbcPagingItemReader;
+import org.example.batch.sort.ExternalSortRuns;
+import org.example.batch.sort.RunMergeTasklet;
+import org.example.batch.sort.SortKey;
+import org.example.batch.sort.SortedRunItemWriter;
+import org.example.batch.writer.BinaryUserItemWriter;
+import org.example.batch.writer.ExportFormat;
+import org.example.batch.writer.FanOutItemWriter;
+import org.example.batch.writer.ParallelFormattingItemWriter;
 import org.example.model.User;
 import org.example.utils.UserFieldExtractor;
 import org.example.utils.UserRowMapper;
@@ -10,13 +23,18 @@ import org.springframework.batch.core.*;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.listener.JobExecutionListenerSupport;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.builder.TaskletStepBuilder;
+import org.springframework.batch.item.ItemStreamWriter;
 import org.springframework.batch.item.database.JdbcPagingItemReader;
 import org.springframework.batch.item.database.Order;
 import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
 import org.springframework.batch.item.database.support.SqlPagingQueryProviderFactoryBean;
 import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
+import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
+import org.springframework.batch.item.json.JacksonJsonObjectMarshaller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -29,10 +47,16 @@ import org.springframework.transaction.PlatformTransactionManager;
 import javax.sql.DataSource;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Spring Batch configuration class that defines the batch job components.
@@ -46,9 +70,11 @@ public class BatchConfig {
     private static final Logger log = LoggerFactory.getLogger(BatchConfig.class);
 
     private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
 
-    public BatchConfig(DataSource dataSource) {
+    public BatchConfig(DataSource dataSource, MeterRegistry meterRegistry) {
         this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
     }
 
 
@@ -60,12 +86,15 @@ public class BatchConfig {
      * Uses pagination to efficiently process large datasets.
      * 
      * @param whereClause The WHERE clause to filter the database query
+     * @param throttle Throttle settings of the job, or null for the configured ones
      * @return A configured JdbcPagingItemReader instance
      * @throws Exception If there's an error creating the query provider
      */
     @Bean
     @Scope("prototype")
-    public JdbcPagingItemReader<User> reader(@Value("${batch.default-where-clause:#{null}}") String whereClause) throws Exception {
+    public JdbcPagingItemReader<User> reader(
+            @Value("${batch.default-where-clause:#{null}}") String whereClause,
+            @Value("#{null}") BatchProperties.Throttle throttle) throws Exception {
         // Define sorting for pagination
         Map<String, Order> sortKeys = new HashMap<>();
         sortKeys.put("id", Order.ASCENDING);
@@ -79,6 +108,28 @@ public class BatchConfig {
         queryProvider.setWhereClause(whereClause != null && !whereClause.isEmpty() ? 
                 whereClause : props.getDefaultWhereClause());
         queryProvider.setSortKeys(sortKeys);
+
+        // Pace page queries by observed latency so exports do not starve the live database
+        if (throttle == null) {
+            throttle = props.getThrottle();
+        }
+        if (throttle.isEnabled()) {
+            ThrottledJdbcPagingItemReader<User> reader = new ThrottledJdbcPagingItemReader<>(new AimdThrottle(
+                    throttle.getInitialPagesPerSecond(),
+                    throttle.getMinPagesPerSecond(),
+                    throttle.getMaxPagesPerSecond(),
+                    throttle.getAdditiveIncrease(),
+                    throttle.getMultiplicativeDecrease(),
+                    throttle.getLatencyTolerance(),
+                    throttle.getBaselineWindow()), meterRegistry);
+            reader.setName("userReader");
+            reader.setDataSource(dataSource);
+            reader.setQueryProvider(queryProvider.getObject());
+            reader.setPageSize(props.getPageSize());
+            reader.setRowMapper(new UserRowMapper());
+            reader.afterPropertiesSet();
+            return reader;
+        }
         
         // Build and return the reader
         return new JdbcPagingItemReaderBuilder<User>()
@@ -93,11 +144,116 @@ public class BatchConfig {
     @Bean
     @Scope("prototype")
     public FlatFileItemWriter<User> writer(@Value("#{null}") String filename) {
-        // Ensure output directory exists
-        String dir = props.getOutput().getDirectory();
-        if (dir == null || dir.isBlank()) {
-            dir = "target";
+        File outputFile = prepareOutputFile(resolveFilename(filename));
+        return tsvWriter("userWriter", outputFile).build();
+    }
+
+    /**
+     * Creates a writer producing the same file as {@link #writer(String)}, but formatting
+     * chunks on a worker pool while a single thread appends them in chunk order.
+     *
+     * @param filename Output filename
+     * @return A configured ParallelFormattingItemWriter instance
+     */
+    @Bean
+    @Scope("prototype")
+    public ParallelFormattingItemWriter<User> parallelWriter(@Value("#{null}") String filename) {
+        File outputFile = prepareOutputFile(resolveFilename(filename));
+        return parallelTsvWriter("userWriter", outputFile);
+    }
+
+    /**
+     * Creates a writer that fans every chunk out to one writer per configured output format.
+     * Each format writes to its own file on its own thread, so the database is read once
+     * no matter how many formats are requested.
+     *
+     * @param filename Base output filename; each format derives its own file from it
+     * @return A writer delegating to one writer per output format
+     */
+    @Bean
+    @Scope("prototype")
+    public FanOutItemWriter<User> fanOutWriter(@Value("#{null}") String filename) {
+        String baseFilename = resolveFilename(filename);
+        Set<ExportFormat> formats = new LinkedHashSet<>(props.getOutput().getFormats());
+
+        // Two delegates writing the same file would corrupt it, e.g. filename=data.bin with [TSV, BINARY]
+        Map<String, ExportFormat> filenames = new HashMap<>();
+        for (ExportFormat format : formats) {
+            ExportFormat clash = filenames.putIfAbsent(format.resolveFilename(baseFilename), format);
+            if (clash != null) {
+                throw new IllegalStateException("Output formats " + clash + " and " + format
+                        + " would both write to " + format.resolveFilename(baseFilename)
+                        + "; use a filename with a different extension");
+            }
+        }
+
+        List<ItemStreamWriter<? super User>> delegates = new ArrayList<>();
+        for (ExportFormat format : formats) {
+            File outputFile = prepareOutputFile(format.resolveFilename(baseFilename));
+            String name = "userWriter-" + format.name().toLowerCase();
+            switch (format) {
+                // Delegates write off the step thread, outside its transaction
+                case TSV -> delegates.add(props.getOutput().isParallelFormatting()
+                        ? parallelTsvWriter(name, outputFile)
+                        : tsvWriter(name, outputFile).transactional(false).build());
+                case JSONL -> delegates.add(new FlatFileItemWriterBuilder<User>()
+                        .name(name)
+                        .resource(new FileSystemResource(outputFile))
+                        .lineAggregator(new JacksonJsonObjectMarshaller<User>()::marshal)
+                        .transactional(false)
+                        .build());
+                case BINARY -> delegates.add(new BinaryUserItemWriter(name, outputFile));
+                case COLUMNAR -> delegates.add(new ColumnarUserItemWriter(name, outputFile,
+                        props.getOutput().getColumnarRowGroupSize()));
+            }
         }
+        return new FanOutItemWriter<>(delegates);
+    }
+
+    /**
+     * Creates a processor that drops rows whose business key was already exported by the step.
+     * The number of duplicates dropped is saved in the step execution context.
+     *
+     * @return A configured DeduplicatingItemProcessor instance
+     */
+    @Bean
+    @Scope("prototype")
+    public DeduplicatingItemProcessor dedupProcessor() {
+        BatchProperties.Dedup dedup = props.getDedup();
+        String spillDirectory = dedup.getSpillDirectory();
+        if (spillDirectory == null || spillDirectory.isBlank()) {
+            spillDirectory = System.getProperty("java.io.tmpdir");
+        }
+        return new DeduplicatingItemProcessor(
+                "userDedup",
+                dedup.getKeyFields(),
+                dedup.getMemoryBudget().toBytes(),
+                dedup.getBloomFilterExpectedItems(),
+                dedup.getBloomFilterFalsePositiveRate(),
+                Path.of(spillDirectory));
+    }
+
+    /**
+     * Returns the given filename, or one generated from the configured pattern if none is provided.
+     */
+    private String resolveFilename(String filename) {
+        if (filename == null || filename.isEmpty()) {
+            String ts = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
+            String pattern = props.getOutput().getFilenamePattern();
+            filename = pattern.replace("{timestamp}", ts);
+        }
+        return filename;
+    }
+
+    /**
+     * Ensures the output directory exists and the output file can be written.
+     *
+     * @param filename The output filename, relative to the output directory
+     * @return The output file
+     */
+    private File prepareOutputFile(String filename) {
+        // Ensure output directory exists
+        String dir = props.getOutput().resolveDirectory();
         
         File directory = new File(dir);
         if (!directory.exists()) {
@@ -106,13 +262,6 @@ public class BatchConfig {
                 throw new IllegalStateException("Failed to create output directory: " + dir);
             }
         }
-        
-        // Generate filename with timestamp if none provided
-        if (filename == null || filename.isEmpty()) {
-            String ts = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
-            String pattern = props.getOutput().getFilenamePattern();
-            filename = pattern.replace("{timestamp}", ts);
-        }
 
         File outputFile = new File(directory, filename);
         // Ensure the file is writable or can be created
@@ -129,18 +278,50 @@ public class BatchConfig {
         } catch (IOException e) {
             throw new IllegalStateException("Error preparing output file: " + outputFile, e);
         }
+        return outputFile;
+    }
+
+    /**
+     * Creates the parallel formatting counterpart of {@link #tsvWriter(String, File)},
+     * using the same line aggregator, header, charset and line separator.
+     */
+    private ParallelFormattingItemWriter<User> parallelTsvWriter(String name, File outputFile) {
+        UserFieldExtractor fieldExtractor = new UserFieldExtractor();
+        String delimiter = "\t";
+
+        DelimitedLineAggregator<User> lineAggregator = new DelimitedLineAggregator<>();
+        lineAggregator.setDelimiter(delimiter);
+        lineAggregator.setFieldExtractor(fieldExtractor);
+
+        int threads = props.getOutput().getFormattingThreads();
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        return new ParallelFormattingItemWriter<>(
+                name,
+                outputFile,
+                lineAggregator,
+                fieldExtractor.getHeaderLine(delimiter),
+                Charset.forName(FlatFileItemWriter.DEFAULT_CHARSET),
+                FlatFileItemWriter.DEFAULT_LINE_SEPARATOR,
+                threads,
+                threads * 2);
+    }
+
+    /**
+     * Creates a builder for the tab separated writer, with the header line.
+     */
+    private FlatFileItemWriterBuilder<User> tsvWriter(String name, File outputFile) {
         UserFieldExtractor fieldExtractor = new UserFieldExtractor();
         String delimiter = "\t";
 
-        // Build and return the writer
         return new FlatFileItemWriterBuilder<User>()
-                .name("userWriter")
+                .name(name)
                 .resource(new FileSystemResource(outputFile))
                 .delimited()
                 .delimiter(delimiter)
                 .fieldExtractor(new UserFieldExtractor())
-                .headerCallback(writer -> writer.write(fieldExtractor.getHeaderLine(delimiter)))
-                .build();
+                .headerCallback(writer -> writer.write(fieldExtractor.getHeaderLine(delimiter)));
     }
 
     /**
@@ -150,6 +331,7 @@ public class BatchConfig {
      * @param transactionManager Transaction manager for chunk-based processing
      * @param whereClause SQL WHERE clause for filtering data
      * @param filename Output filename
+     * @param throttle Throttle settings of the job, or null for the configured ones
      * @return A configured Step instance
      * @throws Exception If there's an error creating the reader or writer
      */
@@ -159,22 +341,25 @@ public class BatchConfig {
             JobRepository jobRepository,
             PlatformTransactionManager transactionManager,
             @Value("${batch.default-where-clause:#{null}}") String whereClause,
-            @Value("#{null}") String filename
+            @Value("#{null}") String filename,
+            @Value("#{null}") BatchProperties.Throttle throttle
     ) throws Exception {
-        return new StepBuilder("export-step", jobRepository)
-                .<User, User>chunk(props.getChunkSize(), transactionManager)
-                .reader(reader(whereClause))
-                .writer(writer(filename))
+        return chunkStep("export-step", jobRepository, transactionManager, whereClause, throttle)
+                .writer(outputWriter(filename))
                 .build();
     }
 
     /**
      * Creates a Job that executes the export step.
+     * When a sort column other than id is requested, the job instead spills sorted runs
+     * in a first step and merges them into the output file in a second one.
      * 
      * @param jobRepository Repository for job execution metadata
      * @param listener Job execution listener for logging
      * @param whereClause SQL WHERE clause for filtering data
      * @param filename Output filename
+     * @param sortBy Column to order the output by, or null to keep the database order (by id)
+     * @param throttle Throttle settings of the job, or null for the configured ones
      * @return A configured Job instance
      * @throws Exception If there's an error creating the step
      */
@@ -184,19 +369,91 @@ public class BatchConfig {
             JobRepository jobRepository,
             JobCompletionNotificationListener listener,
             @Value("${batch.default-where-clause:#{null}}") String whereClause,
-            @Value("#{null}") String filename
+            @Value("#{null}") String filename,
+            @Value("#{null}") String sortBy,
+            @Value("#{null}") BatchProperties.Throttle throttle
     ) throws Exception {
-        Step exportStep = exportStep(jobRepository, 
-                                    listener.getTransactionManager(), 
-                                    whereClause, 
-                                    filename);
-        
+        SortKey sortKey = SortKey.fromParameter(sortBy);
+        if (sortKey == null || sortKey == SortKey.ID) {
+            // Rows are already read in id order
+            Step exportStep = exportStep(jobRepository, 
+                                        listener.getTransactionManager(), 
+                                        whereClause, 
+                                        filename,
+                                        throttle);
+            
+            return new JobBuilder("export-job", jobRepository)
+                    .listener(listener)
+                    .start(exportStep)
+                    .build();
+        }
+
+        BatchProperties.Sort sort = props.getSort();
+        String spillDirectory = sort.getSpillDirectory();
+        if (spillDirectory == null || spillDirectory.isBlank()) {
+            spillDirectory = System.getProperty("java.io.tmpdir");
+        }
+        ExternalSortRuns runs = new ExternalSortRuns(Path.of(spillDirectory), sortKey);
+
+        // Read in the cheap id order and spill sorted runs
+        Step runStep = chunkStep("sort-run-step", jobRepository, listener.getTransactionManager(), whereClause, throttle)
+                .writer(new SortedRunItemWriter(runs, sort.getRunSize()))
+                .build();
+
+        // Stream the k-way merge of the runs into the output
+        ItemStreamWriter<User> outputWriter = outputWriter(filename);
+        RunMergeTasklet mergeTasklet = new RunMergeTasklet(
+                runs, outputWriter, props.getChunkSize(), sort.getMergeFanIn());
+        TaskletStepBuilder mergeStepBuilder = new StepBuilder("sort-merge-step", jobRepository)
+                .tasklet(mergeTasklet, listener.getTransactionManager())
+                .stream(mergeTasklet)
+                .stream(outputWriter);
+        if (outputWriter instanceof StepExecutionListener stepListener) {
+            // Writers such as the columnar one only finish their file when the step completed
+            mergeStepBuilder.listener(stepListener);
+        }
+        Step mergeStep = mergeStepBuilder.build();
+
         return new JobBuilder("export-job", jobRepository)
                 .listener(listener)
-                .start(exportStep)
+                .listener(runs)
+                .start(runStep)
+                .next(mergeStep)
                 .build();
     }
 
+    /**
+     * Creates a chunk-oriented step builder reading users, with the dedup processor if enabled.
+     */
+    private SimpleStepBuilder<User, User> chunkStep(
+            String name,
+            JobRepository jobRepository,
+            PlatformTransactionManager transactionManager,
+            String whereClause,
+            BatchProperties.Throttle throttle
+    ) throws Exception {
+        SimpleStepBuilder<User, User> builder = new StepBuilder(name, jobRepository)
+                .<User, User>chunk(props.getChunkSize(), transactionManager)
+                .reader(reader(whereClause, throttle));
+        if (props.getDedup().isEnabled()) {
+            builder.processor(dedupProcessor());
+        }
+        return builder;
+    }
+
+    /**
+     * Creates the writer for the configured output formats.
+     * A single TSV output keeps the plain (or parallel formatting) writer; anything else fans out per format.
+     */
+    private ItemStreamWriter<User> outputWriter(String filename) {
+        List<ExportFormat> formats = props.getOutput().getFormats();
+        boolean tsvOnly = formats == null || formats.isEmpty() || Set.copyOf(formats).equals(Set.of(ExportFormat.TSV));
+        if (!tsvOnly) {
+            return fanOutWriter(filename);
+        }
+        return props.getOutput().isParallelFormatting() ? parallelWriter(filename) : writer(filename);
+    }
+
     /**
      * Listener that logs information about job execution status.
      * Also provides access to the transaction manager for the job.
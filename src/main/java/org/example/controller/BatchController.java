@@ -1,6 +1,8 @@
 package org.example.controller;
 
+import org.example.batch.service.ExportPreviewService;
 import org.example.batch.service.JobStarter;
+import org.example.model.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.JobExecution;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -22,20 +25,26 @@ public class BatchController {
     
     private final JobStarter jobStarter;
     private final JobExplorer jobExplorer;
+    private final ExportPreviewService previewService;
     
     @Autowired
-    public BatchController(JobStarter jobStarter, JobExplorer jobExplorer) {
+    public BatchController(JobStarter jobStarter, JobExplorer jobExplorer, ExportPreviewService previewService) {
         this.jobStarter = jobStarter;
         this.jobExplorer = jobExplorer;
+        this.previewService = previewService;
     }
     
     @PostMapping("/export")
     public ResponseEntity<Map<String, Object>> startExport(
             @RequestParam(required = false) String whereClause,
-            @RequestParam(required = false) String filename) {
+            @RequestParam(required = false) String filename,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) Double minPagesPerSecond,
+            @RequestParam(required = false) Double maxPagesPerSecond) {
         
         try {
-            JobExecution execution = jobStarter.launchJob(whereClause, filename);
+            JobExecution execution = jobStarter.launchJob(
+                    whereClause, filename, sortBy, minPagesPerSecond, maxPagesPerSecond);
             
             Map<String, Object> response = new HashMap<>();
             response.put("jobId", execution.getJobId());
@@ -43,6 +52,10 @@ public class BatchController {
             response.put("startTime", execution.getStartTime());
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             log.error("Error starting export job", e);
             Map<String, Object> response = new HashMap<>();
@@ -72,4 +85,45 @@ public class BatchController {
         
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/preview")
+    public ResponseEntity<Map<String, Object>> preview(
+            @RequestParam(required = false) String whereClause,
+            @RequestParam(required = false) Integer limit) {
+
+        Map<String, Object> response = new HashMap<>();
+        try {
+            List<User> rows = previewService.preview(whereClause, limit != null ? limit : previewService.getDefaultLimit());
+            response.put("rows", rows);
+            response.put("rowCount", rows.size());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            log.error("Error previewing export", e);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    @GetMapping("/count")
+    public ResponseEntity<Map<String, Object>> count(
+            @RequestParam(required = false) String whereClause,
+            @RequestParam(defaultValue = "false") boolean exact) {
+
+        Map<String, Object> response = new HashMap<>();
+        try {
+            ExportPreviewService.RowCount count = previewService.count(whereClause, exact);
+            response.put("count", count.count());
+            response.put("estimated", count.estimated());
+            response.put("source", count.source());
+            response.put("computedAt", count.computedAt());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error counting export rows", e);
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
 }
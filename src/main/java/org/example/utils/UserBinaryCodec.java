@@ -0,0 +1,80 @@
+package org.example.utils;
+
+import org.example.model.User;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes User objects as compact binary records.
+ * Each record starts with a flag byte telling which fields are present,
+ * followed by the id as a 64-bit long and the strings as length-prefixed UTF-8.
+ */
+public final class UserBinaryCodec {
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_NAME = 1 << 1;
+    private static final int HAS_EMAIL = 1 << 2;
+
+    private UserBinaryCodec() {
+    }
+
+    /**
+     * Writes a single user record.
+     *
+     * @param out The output to write to
+     * @param user The user to encode
+     * @throws IOException If the record cannot be written
+     */
+    public static void write(DataOutput out, User user) throws IOException {
+        int flags = (user.getId() != null ? HAS_ID : 0)
+                | (user.getName() != null ? HAS_NAME : 0)
+                | (user.getEmail() != null ? HAS_EMAIL : 0);
+        out.writeByte(flags);
+        if (user.getId() != null) {
+            out.writeLong(user.getId());
+        }
+        if (user.getName() != null) {
+            writeString(out, user.getName());
+        }
+        if (user.getEmail() != null) {
+            writeString(out, user.getEmail());
+        }
+    }
+
+    /**
+     * Reads a single user record previously written by {@link #write(DataOutput, User)}.
+     *
+     * @param in The input to read from
+     * @return The decoded user
+     * @throws IOException If the record cannot be read
+     */
+    public static User read(DataInput in) throws IOException {
+        int flags = in.readUnsignedByte();
+        User user = new User();
+        if ((flags & HAS_ID) != 0) {
+            user.setId(in.readLong());
+        }
+        if ((flags & HAS_NAME) != 0) {
+            user.setName(readString(in));
+        }
+        if ((flags & HAS_EMAIL) != 0) {
+            user.setEmail(readString(in));
+        }
+        return user;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.batch.columnar;
+
+import org.example.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ColumnarUserReaderTest {
+
+    @TempDir
+    File tempDir;
+
+    private static List<User> users(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User(10L + 2L * i, i % 17 == 0 ? null : "name-" + (i % 5));
+            user.setEmail(i % 13 == 0 ? null : "user" + i + "@domain" + (i % 3) + ".com");
+            users.add(user);
+        }
+        return users;
+    }
+
+    private File write(List<User> users, int rowGroupSize, BatchStatus stepStatus) throws Exception {
+        File file = new File(tempDir, "export.ucol");
+        ColumnarUserItemWriter writer = new ColumnarUserItemWriter("columnar", file, rowGroupSize);
+        writer.open(new ExecutionContext());
+        for (int i = 0; i < users.size(); i += 100) {
+            writer.write(new Chunk<>(users.subList(i, Math.min(users.size(), i + 100))));
+        }
+        StepExecution stepExecution = new StepExecution("export-step", new JobExecution(1L));
+        stepExecution.setStatus(stepStatus);
+        writer.afterStep(stepExecution);
+        writer.close();
+        return file;
+    }
+
+    @Test
+    void roundTripsMultipleRowGroups() throws Exception {
+        List<User> users = users(1050);
+        File file = write(users, 250, BatchStatus.COMPLETED);
+
+        try (ColumnarUserReader reader = new ColumnarUserReader(file)) {
+            assertThat(reader.getRowGroups()).hasSize(5);
+            assertThat(reader.getRowGroups()).extracting(RowGroupInfo::rowCount).containsExactly(250, 250, 250, 250, 50);
+            assertThat(reader.getRowCount()).isEqualTo(1050);
+
+            List<User> all = reader.readAll();
+            assertThat(all).hasSize(users.size());
+            for (int i = 0; i < users.size(); i++) {
+                assertThat(all.get(i).getId()).isEqualTo(users.get(i).getId());
+                assertThat(all.get(i).getName()).isEqualTo(users.get(i).getName());
+                assertThat(all.get(i).getEmail()).isEqualTo(users.get(i).getEmail());
+            }
+        }
+    }
+
+    @Test
+    void footerRecordsMinAndMaxIdPerRowGroup() throws Exception {
+        File file = write(users(500), 250, BatchStatus.COMPLETED);
+
+        try (ColumnarUserReader reader = new ColumnarUserReader(file)) {
+            assertThat(reader.getRowGroups().get(0).minId()).isEqualTo(10L);
+            assertThat(reader.getRowGroups().get(0).maxId()).isEqualTo(10L + 2L * 249);
+            assertThat(reader.getRowGroups().get(1).minId()).isEqualTo(10L + 2L * 250);
+            assertThat(reader.getRowGroups().get(1).maxId()).isEqualTo(10L + 2L * 499);
+        }
+    }
+
+    @Test
+    void readRangeReturnsOnlyMatchingRows() throws Exception {
+        File file = write(users(1000), 100, BatchStatus.COMPLETED);
+
+        try (ColumnarUserReader reader = new ColumnarUserReader(file)) {
+            List<User> range = reader.readRange(400, 611);
+            assertThat(range).extracting(User::getId).first().isEqualTo(400L);
+            assertThat(range).extracting(User::getId).last().isEqualTo(610L);
+            assertThat(range).hasSize(106);
+
+            assertThat(reader.readRange(0, 9)).isEmpty();
+            assertThat(reader.readRange(5000, 6000)).isEmpty();
+        }
+    }
+
+    @Test
+    void readRangeSkipsRowGroupsOutsideTheRange() throws Exception {
+        File file = write(users(1000), 100, BatchStatus.COMPLETED);
+
+        try (ColumnarUserReader reader = new ColumnarUserReader(file)) {
+            long overlapping = reader.getRowGroups().stream().filter(group -> group.overlaps(400, 611)).count();
+            // Ids 400..610 fall in the row groups holding 210..408, 410..608 and 610..808
+            assertThat(overlapping).isEqualTo(3);
+
+            // Corrupt every row group the range does not touch; the range read must still succeed
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                for (RowGroupInfo group : reader.getRowGroups()) {
+                    if (!group.overlaps(400, 611)) {
+                        channel.write(ByteBuffer.wrap(new byte[group.length()]), group.offset());
+                    }
+                }
+            }
+            assertThat(reader.readRange(400, 611)).hasSize(106);
+        }
+    }
+
+    @Test
+    void rejectsFileOfFailedStep() throws Exception {
+        File file = write(users(300), 100, BatchStatus.FAILED);
+
+        assertThatThrownBy(() -> new ColumnarUserReader(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("incomplete or corrupt");
+    }
+
+    @Test
+    void failsStepWhenFooterCannotBeWritten() throws Exception {
+        File full = new File("/dev/full");
+        assumeTrue(full.exists(), "needs /dev/full to simulate a full disk");
+        ColumnarUserItemWriter writer = new ColumnarUserItemWriter("columnar", full, 100);
+        writer.open(new ExecutionContext());
+        writer.write(new Chunk<>(users(50)));
+        StepExecution stepExecution = new StepExecution("export-step", new JobExecution(1L));
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+
+        ExitStatus exitStatus = writer.afterStep(stepExecution);
+        writer.close();
+
+        assertThat(exitStatus.getExitCode()).isEqualTo(ExitStatus.FAILED.getExitCode());
+        assertThat(stepExecution.getStatus()).isEqualTo(BatchStatus.FAILED);
+        assertThat(stepExecution.getFailureExceptions()).hasSize(1);
+    }
+
+    @Test
+    void rejectsFileWithoutHeader() throws Exception {
+        File file = new File(tempDir, "not-columnar.ucol");
+        Files.writeString(file.toPath(), "id\tname\temail\n1\tann\tann@example.com\n");
+
+        assertThatThrownBy(() -> new ColumnarUserReader(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a columnar export file");
+    }
+
+    @Test
+    void roundTripsEmptyExport() throws Exception {
+        File file = write(List.of(), 100, BatchStatus.COMPLETED);
+
+        try (ColumnarUserReader reader = new ColumnarUserReader(file)) {
+            assertThat(reader.getRowGroups()).isEmpty();
+            assertThat(reader.readAll()).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.batch.columnar;
+
+import org.example.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RowGroupCodecTest {
+
+    private static User user(Long id, String name, String email) {
+        User user = new User(id, name);
+        user.setEmail(email);
+        return user;
+    }
+
+    private static List<User> roundTrip(List<User> rows) {
+        ByteBuffer encoded = ByteBuffer.wrap(RowGroupCodec.encode(rows));
+        List<User> decoded = RowGroupCodec.decode(encoded);
+        assertThat(encoded.hasRemaining()).isFalse();
+        return decoded;
+    }
+
+    private static void assertSameRows(List<User> actual, List<User> expected) {
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).getId()).as("id of row %d", i).isEqualTo(expected.get(i).getId());
+            assertThat(actual.get(i).getName()).as("name of row %d", i).isEqualTo(expected.get(i).getName());
+            assertThat(actual.get(i).getEmail()).as("email of row %d", i).isEqualTo(expected.get(i).getEmail());
+        }
+    }
+
+    @Test
+    void roundTripsNullIdsNamesAndEmails() {
+        List<User> rows = List.of(
+                user(1L, "ann", "ann@example.com"),
+                user(null, "bob", "bob@example.com"),
+                user(3L, null, "carl@example.com"),
+                user(4L, "dora", null),
+                user(null, null, null));
+
+        assertSameRows(roundTrip(rows), rows);
+    }
+
+    @Test
+    void roundTripsEmailsWithoutDomain() {
+        List<User> rows = List.of(
+                user(1L, "ann", "no-at-sign"),
+                user(2L, "bob", ""),
+                user(3L, "carl", "carl@"),
+                user(4L, "dora", "a@b@example.com"));
+
+        assertSameRows(roundTrip(rows), rows);
+    }
+
+    @Test
+    void roundTripsUnsortedAndNegativeIds() {
+        List<User> rows = List.of(
+                user(100L, "a", null),
+                user(-5L, "b", null),
+                user(Long.MAX_VALUE, "c", null),
+                user(Long.MIN_VALUE, "d", null),
+                user(0L, "e", null));
+
+        assertSameRows(roundTrip(rows), rows);
+    }
+
+    @Test
+    void roundTripsNonAsciiStrings() {
+        List<User> rows = List.of(
+                user(1L, "Zoë", "zoë@exämple.com"),
+                user(2L, "日本", "user@例え.jp"));
+
+        assertSameRows(roundTrip(rows), rows);
+    }
+
+    @Test
+    void usesDictionaryForRepeatedNamesAndPlainForDistinctOnes() {
+        List<User> repeated = new ArrayList<>();
+        List<User> distinct = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            repeated.add(user((long) i, "name-" + (i % 3), null));
+            distinct.add(user((long) i, "name-" + i, null));
+        }
+
+        assertSameRows(roundTrip(repeated), repeated);
+        assertSameRows(roundTrip(distinct), distinct);
+
+        // The dictionary stores each repeated name once, so the group is far smaller than plain encoding
+        int plainNameBytes = repeated.stream().mapToInt(u -> u.getName().length() + 1).sum();
+        assertThat(RowGroupCodec.encode(repeated).length).isLessThan(plainNameBytes / 2);
+    }
+
+    @Test
+    void encodesSortedIdsInOneByteEach() {
+        List<User> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            rows.add(user(1_000_000_000L + i, null, null));
+        }
+
+        // One byte per id delta, plus one null marker per row in the name and email columns
+        assertThat(RowGroupCodec.encode(rows).length).isLessThan(3 * 1000 + 32);
+        assertSameRows(roundTrip(rows), rows);
+    }
+
+    @Test
+    void roundTripsEmptyRowGroup() {
+        assertThat(roundTrip(List.of())).isEmpty();
+    }
+}
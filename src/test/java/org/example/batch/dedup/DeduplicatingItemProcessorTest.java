@@ -0,0 +1,120 @@
+package org.example.batch.dedup;
+
+import org.example.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeduplicatingItemProcessorTest {
+
+    /** Smallest accepted budget; its table holds 45875 fingerprints before spilling */
+    private static final long SMALL_BUDGET = 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private static User user(long id, String email) {
+        User user = new User(id, "name-" + id);
+        user.setEmail(email);
+        return user;
+    }
+
+    private DeduplicatingItemProcessor processor(long memoryBudget, long bloomExpectedItems) {
+        return new DeduplicatingItemProcessor("userDedup", List.of("email"), memoryBudget,
+                bloomExpectedItems, 0.01, tempDir);
+    }
+
+    @Test
+    void dropsDuplicatesFromTheLiveSetAndSpilledRuns() throws Exception {
+        DeduplicatingItemProcessor processor = processor(SMALL_BUDGET, 0);
+        processor.open(new ExecutionContext());
+
+        int distinct = 100_000;
+        for (int i = 0; i < distinct; i++) {
+            assertThat(processor.process(user(i, "user" + i + "@example.com"))).isNotNull();
+        }
+        // Early keys were spilled, the last ones are still in the live set
+        for (int i : new int[] {0, 1, 45_000, 50_000, distinct - 1}) {
+            assertThat(processor.process(user(i, "user" + i + "@example.com"))).isNull();
+        }
+        assertThat(processor.process(user(distinct, "user" + distinct + "@example.com"))).isNotNull();
+        assertThat(processor.getDuplicates()).isEqualTo(5);
+        Path runDirectory;
+        try (var directories = Files.list(tempDir)) {
+            runDirectory = directories.findFirst().orElseThrow();
+        }
+        try (var runs = Files.list(runDirectory)) {
+            assertThat(runs).hasSize(2);
+        }
+
+        processor.close();
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void dropsDuplicatesBehindTheBloomFilter() throws Exception {
+        DeduplicatingItemProcessor processor = processor(8 * SMALL_BUDGET, 10_000);
+        processor.open(new ExecutionContext());
+
+        assertThat(processor.process(user(1, "ann@example.com"))).isNotNull();
+        assertThat(processor.process(user(2, "bob@example.com"))).isNotNull();
+        assertThat(processor.process(user(3, "ann@example.com"))).isNull();
+        assertThat(processor.process(user(4, null))).isNotNull();
+        assertThat(processor.process(user(5, null))).isNull();
+
+        assertThat(processor.getDuplicates()).isEqualTo(2);
+        processor.close();
+    }
+
+    @Test
+    void savesAndRestoresTheDuplicateCount() throws Exception {
+        DeduplicatingItemProcessor processor = processor(SMALL_BUDGET, 0);
+        ExecutionContext executionContext = new ExecutionContext();
+        processor.open(executionContext);
+        processor.process(user(1, "ann@example.com"));
+        processor.process(user(2, "ann@example.com"));
+        processor.process(user(3, "ann@example.com"));
+        processor.update(executionContext);
+        processor.close();
+
+        assertThat(executionContext.getLong("userDedup.duplicates")).isEqualTo(2);
+
+        DeduplicatingItemProcessor restarted = processor(SMALL_BUDGET, 0);
+        restarted.open(executionContext);
+        assertThat(restarted.getDuplicates()).isEqualTo(2);
+        restarted.close();
+    }
+
+    @Test
+    void rejectsBudgetThatTheBloomFilterLeavesTooSmall() {
+        long bloomBytes = BloomFilter.sizeInBytes(10_000_000, 0.01);
+
+        assertThatThrownBy(() -> processor(bloomBytes + SMALL_BUDGET - 1, 10_000_000))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Bloom filter");
+        assertThat(processor(bloomBytes + SMALL_BUDGET, 10_000_000)).isNotNull();
+    }
+
+    @Test
+    void rejectsBudgetBelowTheMinimumWithoutBloomFilter() {
+        assertThatThrownBy(() -> processor(SMALL_BUDGET - 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsUnknownKeyField() {
+        assertThatThrownBy(() -> new DeduplicatingItemProcessor("userDedup", List.of("phone"), SMALL_BUDGET,
+                0, 0.01, tempDir))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("phone");
+    }
+}
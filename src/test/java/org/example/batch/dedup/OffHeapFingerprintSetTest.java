@@ -0,0 +1,131 @@
+package org.example.batch.dedup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapFingerprintSetTest {
+
+    /** Budget whose largest table has 2^18 slots: 2^18 * 12 bytes covers the growth peak */
+    private static final long GROWING_BUDGET = (1L << 18) * 12;
+
+    @TempDir
+    Path tempDir;
+
+    private static long[] fingerprints(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Set<Long> distinct = new HashSet<>();
+        while (distinct.size() < count) {
+            long value = random.nextLong();
+            if (value != 0) {
+                distinct.add(value);
+            }
+        }
+        return distinct.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private long[] spill(OffHeapFingerprintSet set) throws IOException {
+        Path file = Files.createTempFile(tempDir, "run-", ".fp");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            set.spillSorted(channel);
+        }
+        LongBuffer run = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.nativeOrder()).asLongBuffer();
+        long[] values = new long[run.remaining()];
+        run.get(values);
+        return values;
+    }
+
+    @Test
+    void addsAndFindsFingerprints() {
+        OffHeapFingerprintSet set = new OffHeapFingerprintSet(GROWING_BUDGET);
+        long[] values = fingerprints(1000, 1);
+
+        for (long value : values) {
+            assertThat(set.hasRoom()).isTrue();
+            assertThat(set.add(value)).isTrue();
+        }
+        for (long value : values) {
+            assertThat(set.contains(value)).isTrue();
+            assertThat(set.add(value)).isFalse();
+        }
+        assertThat(set.size()).isEqualTo(values.length);
+        assertThat(set.contains(fingerprints(1, 2)[0])).isFalse();
+    }
+
+    @Test
+    void tracksFingerprintZero() throws IOException {
+        OffHeapFingerprintSet set = new OffHeapFingerprintSet(GROWING_BUDGET);
+        assertThat(set.contains(0L)).isFalse();
+
+        assertThat(set.add(0L)).isTrue();
+        assertThat(set.add(0L)).isFalse();
+        set.add(-5L);
+        set.add(7L);
+
+        assertThat(set.contains(0L)).isTrue();
+        assertThat(set.size()).isEqualTo(3);
+        assertThat(spill(set)).containsExactly(-5L, 0L, 7L);
+        assertThat(set.contains(0L)).isFalse();
+        assertThat(set.size()).isZero();
+    }
+
+    @Test
+    void growsUpToMaxCapacity() {
+        int maxCapacity = OffHeapFingerprintSet.maxCapacity(GROWING_BUDGET);
+        assertThat(maxCapacity).isEqualTo(1 << 18);
+
+        OffHeapFingerprintSet set = new OffHeapFingerprintSet(GROWING_BUDGET);
+        long[] values = fingerprints(maxCapacity, 3);
+        int added = 0;
+        while (set.hasRoom()) {
+            set.add(values[added++]);
+        }
+
+        // Full only once the largest table reaches its load limit
+        assertThat(added).isEqualTo((int) (maxCapacity * 0.7));
+        for (int i = 0; i < added; i++) {
+            assertThat(set.contains(values[i])).isTrue();
+        }
+    }
+
+    @Test
+    void capsTheTableSoGrowthStaysWithinTheBudget() {
+        // Old and new table together take 12 bytes per slot of the new one
+        assertThat(OffHeapFingerprintSet.maxCapacity(12L << 20) * 12L).isLessThanOrEqualTo(12L << 20);
+        assertThat(OffHeapFingerprintSet.maxCapacity(12L << 20)).isEqualTo(1 << 20);
+        assertThat(OffHeapFingerprintSet.maxCapacity((12L << 20) - 1)).isEqualTo(1 << 19);
+    }
+
+    @Test
+    void spillsSortedFingerprintsAndEmptiesTheSet() throws IOException {
+        OffHeapFingerprintSet set = new OffHeapFingerprintSet(GROWING_BUDGET);
+        long[] values = fingerprints(5000, 4);
+        for (long value : values) {
+            set.hasRoom();
+            set.add(value);
+        }
+
+        long[] run = spill(set);
+
+        long[] expected = values.clone();
+        Arrays.sort(expected);
+        assertThat(run).containsExactly(expected);
+        assertThat(set.size()).isZero();
+        assertThat(set.contains(values[0])).isFalse();
+        assertThat(set.add(values[0])).isTrue();
+    }
+}
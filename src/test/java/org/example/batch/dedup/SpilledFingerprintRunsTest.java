@@ -0,0 +1,65 @@
+package org.example.batch.dedup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpilledFingerprintRunsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void findsFingerprintsInEverySpilledRun() throws IOException {
+        OffHeapFingerprintSet set = new OffHeapFingerprintSet(1 << 20);
+        SpilledFingerprintRuns runs = new SpilledFingerprintRuns(tempDir);
+
+        for (long value = -1000; value < 1000; value += 2) {
+            set.add(value);
+        }
+        runs.spill(set);
+        for (long value = 5000; value < 6000; value += 3) {
+            set.add(value);
+        }
+        runs.spill(set);
+        set.add(7777L);
+
+        assertThat(runs.size()).isEqualTo(2);
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(runs.contains(-1000L)).isTrue();
+        assertThat(runs.contains(0L)).isTrue();
+        assertThat(runs.contains(998L)).isTrue();
+        assertThat(runs.contains(5000L)).isTrue();
+        assertThat(runs.contains(5999L)).isTrue();
+        assertThat(runs.contains(-999L)).isFalse();
+        assertThat(runs.contains(5001L)).isFalse();
+        assertThat(runs.contains(Long.MIN_VALUE)).isFalse();
+        assertThat(runs.contains(Long.MAX_VALUE)).isFalse();
+        // Still in the live set only
+        assertThat(runs.contains(7777L)).isFalse();
+        assertThat(set.contains(7777L)).isTrue();
+    }
+
+    @Test
+    void deletesRunFiles() throws IOException {
+        OffHeapFingerprintSet set = new OffHeapFingerprintSet(1 << 20);
+        SpilledFingerprintRuns runs = new SpilledFingerprintRuns(tempDir);
+        set.add(1L);
+        runs.spill(set);
+        set.add(2L);
+        runs.spill(set);
+
+        runs.delete();
+
+        assertThat(runs.size()).isZero();
+        assertThat(runs.contains(1L)).isFalse();
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
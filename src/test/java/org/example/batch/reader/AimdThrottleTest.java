@@ -0,0 +1,107 @@
+package org.example.batch.reader;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AimdThrottleTest {
+
+    private static final double MIN_RATE = 0.5;
+    private static final double MAX_RATE = 100;
+
+    private static AimdThrottle throttle() {
+        return new AimdThrottle(10, MIN_RATE, MAX_RATE, 1, 0.5, 2, 100);
+    }
+
+    private static void record(AimdThrottle throttle, int pages, long latencyMillis) {
+        for (int i = 0; i < pages; i++) {
+            throttle.record(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        }
+    }
+
+    @Test
+    void rampsUpWhileLatencyIsSteady() {
+        AimdThrottle throttle = throttle();
+
+        record(throttle, 200, 10);
+
+        assertThat(throttle.getRate()).isEqualTo(MAX_RATE);
+        assertThat(throttle.getBackoffs()).isZero();
+        assertThat(throttle.getBaselineLatencyMillis()).isEqualTo(10.0);
+    }
+
+    @Test
+    void ignoresSingleFastOutlier() {
+        AimdThrottle throttle = throttle();
+        record(throttle, 50, 10);
+
+        // e.g. a page served entirely from the buffer pool
+        record(throttle, 1, 2);
+        record(throttle, 200, 10);
+
+        assertThat(throttle.getBaselineLatencyMillis()).isEqualTo(10.0);
+        assertThat(throttle.getBackoffs()).isZero();
+        assertThat(throttle.getRate()).isEqualTo(MAX_RATE);
+    }
+
+    @Test
+    void staysBackedOffWhileCongested() {
+        AimdThrottle throttle = throttle();
+        record(throttle, 100, 10);
+
+        record(throttle, 80, 50);
+
+        assertThat(throttle.getRate()).isEqualTo(MIN_RATE);
+        assertThat(throttle.getBaselineLatencyMillis()).isEqualTo(10.0);
+        assertThat(throttle.getBackoffs()).isGreaterThanOrEqualTo(80 - 5);
+    }
+
+    @Test
+    void rampsUpAgainWhenLatencyRecovers() {
+        AimdThrottle throttle = throttle();
+        record(throttle, 100, 10);
+        record(throttle, 50, 50);
+        assertThat(throttle.getRate()).isEqualTo(MIN_RATE);
+
+        record(throttle, 30, 10);
+
+        assertThat(throttle.getRate()).isGreaterThan(20);
+    }
+
+    @Test
+    void acceptsLastingChangeInQueryCost() {
+        AimdThrottle throttle = throttle();
+        record(throttle, 100, 10);
+
+        // Queries became five times as expensive for good, e.g. a wider row or a new join
+        record(throttle, 300, 50);
+
+        assertThat(throttle.getBaselineLatencyMillis()).isEqualTo(50.0);
+        assertThat(throttle.getRate()).isEqualTo(MAX_RATE);
+    }
+
+    @Test
+    void keepsRateWithinLimits() {
+        AimdThrottle throttle = new AimdThrottle(1000, MIN_RATE, MAX_RATE, 1, 0.5, 2, 100);
+        assertThat(throttle.getRate()).isEqualTo(MAX_RATE);
+
+        record(throttle, 100, 10);
+        record(throttle, 20, 1000);
+        assertThat(throttle.getRate()).isEqualTo(MIN_RATE);
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThatThrownBy(() -> new AimdThrottle(10, 0, 100, 1, 0.5, 2, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AimdThrottle(10, 1, 100, 1, 1, 2, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AimdThrottle(10, 1, 100, 1, 0.5, 0.5, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AimdThrottle(10, 1, 100, 1, 0.5, 2, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.batch.sort;
+
+import org.example.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SortedRunItemWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Chunk<User> users(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User((long) i, "name-" + (count - i));
+            user.setEmail("user" + i + "@example.com");
+            users.add(user);
+        }
+        return new Chunk<>(users);
+    }
+
+    private static StepExecution stepExecution(BatchStatus status) {
+        StepExecution stepExecution = new StepExecution("sort-run-step", new JobExecution(1L));
+        stepExecution.setStatus(status);
+        return stepExecution;
+    }
+
+    @Test
+    void spillsLastPartialRunWhenStepCompleted() throws Exception {
+        ExternalSortRuns runs = new ExternalSortRuns(tempDir, SortKey.NAME);
+        SortedRunItemWriter writer = new SortedRunItemWriter(runs, 100);
+        writer.open(new ExecutionContext());
+        writer.write(users(250));
+        assertThat(runs.getRuns()).hasSize(2);
+
+        StepExecution stepExecution = stepExecution(BatchStatus.COMPLETED);
+        assertThat(writer.afterStep(stepExecution)).isNull();
+        writer.close();
+
+        assertThat(runs.getRuns()).hasSize(3);
+        assertThat(stepExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        try (ExternalSortRuns.MergeCursor cursor = runs.openMerge()) {
+            assertThat(cursor.size()).isEqualTo(250);
+        }
+    }
+
+    @Test
+    void dropsLastPartialRunWhenStepFailed() throws Exception {
+        ExternalSortRuns runs = new ExternalSortRuns(tempDir, SortKey.NAME);
+        SortedRunItemWriter writer = new SortedRunItemWriter(runs, 100);
+        writer.open(new ExecutionContext());
+        writer.write(users(250));
+
+        writer.afterStep(stepExecution(BatchStatus.FAILED));
+        writer.close();
+
+        assertThat(runs.getRuns()).hasSize(2);
+    }
+
+    @Test
+    void failsStepWhenLastRunCannotBeSpilled() throws Exception {
+        // A regular file where the run directory should be created makes the spill fail
+        Path notADirectory = Files.createFile(tempDir.resolve("not-a-directory"));
+        ExternalSortRuns runs = new ExternalSortRuns(notADirectory, SortKey.NAME);
+        SortedRunItemWriter writer = new SortedRunItemWriter(runs, 100);
+        writer.open(new ExecutionContext());
+        writer.write(users(50));
+
+        StepExecution stepExecution = stepExecution(BatchStatus.COMPLETED);
+        ExitStatus exitStatus = writer.afterStep(stepExecution);
+        writer.close();
+
+        assertThat(exitStatus.getExitCode()).isEqualTo(ExitStatus.FAILED.getExitCode());
+        assertThat(stepExecution.getStatus()).isEqualTo(BatchStatus.FAILED);
+        assertThat(stepExecution.getFailureExceptions()).hasSize(1);
+        assertThat(runs.getRuns()).isEmpty();
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.batch.writer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.batch.properties.BatchProperties;
+import org.example.config.BatchConfig;
+import org.example.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ParallelFormattingItemWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private BatchConfig batchConfig;
+
+    @BeforeEach
+    void setUp() {
+        BatchProperties props = new BatchProperties();
+        props.getOutput().setDirectory(tempDir.toString());
+        props.getOutput().setFormattingThreads(4);
+        batchConfig = new BatchConfig(null, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(batchConfig, "props", props);
+    }
+
+    private static List<User> users(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User(i % 11 == 0 ? null : (long) i, i % 7 == 0 ? null : "näme-" + i + "-日本");
+            user.setEmail(i % 5 == 0 ? null : "user" + i + "@example.com");
+            users.add(user);
+        }
+        return users;
+    }
+
+    private static StepExecution completedStep() {
+        StepExecution stepExecution = new StepExecution("export-step", new JobExecution(1L));
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+        return stepExecution;
+    }
+
+    /**
+     * Runs the writer through the stream and listener callbacks of a step, with uneven chunk sizes.
+     */
+    private static <W extends ItemStreamWriter<User>> ExitStatus export(W writer, List<User> users) throws Exception {
+        ExecutionContext executionContext = new ExecutionContext();
+        writer.open(executionContext);
+        int chunkSize = 1;
+        for (int i = 0; i < users.size(); i += chunkSize, chunkSize = chunkSize % 97 + 13) {
+            writer.write(new Chunk<>(users.subList(i, Math.min(users.size(), i + chunkSize))));
+            writer.update(executionContext);
+        }
+        ExitStatus exitStatus = writer instanceof ParallelFormattingItemWriter<?> parallel
+                ? parallel.afterStep(completedStep())
+                : null;
+        writer.close();
+        return exitStatus;
+    }
+
+    private void assertSameBytes(List<User> users) throws Exception {
+        export(batchConfig.writer("plain.txt"), users);
+        ExitStatus exitStatus = export(batchConfig.parallelWriter("parallel.txt"), users);
+
+        assertThat(exitStatus).isNull();
+        byte[] expected = Files.readAllBytes(tempDir.resolve("plain.txt"));
+        byte[] actual = Files.readAllBytes(tempDir.resolve("parallel.txt"));
+        assertThat(new String(expected, StandardCharsets.UTF_8)).startsWith("id\tname\temail");
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void writesSameBytesAsFlatFileWriter() throws Exception {
+        assertSameBytes(users(10_000));
+    }
+
+    @Test
+    void writesSameBytesAsFlatFileWriterForEmptyExport() throws Exception {
+        assertSameBytes(List.of());
+    }
+
+    @Test
+    void failsStepWhenLastChunksCannotBeWritten() throws Exception {
+        File full = new File("/dev/full");
+        assumeTrue(full.exists(), "needs /dev/full to simulate a full disk");
+        DelimitedLineAggregator<User> lineAggregator = new DelimitedLineAggregator<>();
+        lineAggregator.setFieldExtractor(user -> new Object[] {user.getId(), user.getName(), user.getEmail()});
+        ParallelFormattingItemWriter<User> writer = new ParallelFormattingItemWriter<>(
+                "userWriter", full, lineAggregator, null, StandardCharsets.UTF_8, "\n", 2, 4);
+        writer.open(new ExecutionContext());
+        // Queued without waiting for the append, so the error is only seen when draining
+        writer.write(new Chunk<>(users(100)));
+
+        StepExecution stepExecution = completedStep();
+        ExitStatus exitStatus = writer.afterStep(stepExecution);
+        writer.close();
+
+        assertThat(exitStatus.getExitCode()).isEqualTo(ExitStatus.FAILED.getExitCode());
+        assertThat(stepExecution.getStatus()).isEqualTo(BatchStatus.FAILED);
+        assertThat(stepExecution.getFailureExceptions()).hasSize(1);
+    }
+
+    @Test
+    void reportsErrorsOnCloseWithoutStepListener() throws Exception {
+        File full = new File("/dev/full");
+        assumeTrue(full.exists(), "needs /dev/full to simulate a full disk");
+        ParallelFormattingItemWriter<User> writer = new ParallelFormattingItemWriter<>(
+                "userWriter", full, User::toString, null, StandardCharsets.UTF_8, "\n", 2, 4);
+        writer.open(new ExecutionContext());
+        writer.write(new Chunk<>(users(100)));
+
+        assertThatThrownBy(writer::close).isInstanceOf(ItemStreamException.class);
+    }
+
+    @Test
+    void refusesToResumeStartedOutput() throws Exception {
+        ParallelFormattingItemWriter<User> writer = batchConfig.parallelWriter("parallel.txt");
+        ExecutionContext executionContext = new ExecutionContext();
+        writer.open(executionContext);
+        writer.update(executionContext);
+        writer.afterStep(completedStep());
+        writer.close();
+
+        ParallelFormattingItemWriter<User> restarted = batchConfig.parallelWriter("parallel.txt");
+        assertThatThrownBy(() -> restarted.open(executionContext)).isInstanceOf(ItemStreamException.class);
+    }
+}